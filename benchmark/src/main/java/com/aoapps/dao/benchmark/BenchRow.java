@@ -0,0 +1,105 @@
+/*
+ * ao-dao-api - Simple data access objects framework API.
+ * Copyright (C) 2026  AO Industries, Inc.
+ *     support@aoindustries.com
+ *     7262 Bull Pen Cir
+ *     Mobile, AL 36695
+ *
+ * This file is part of ao-dao-api.
+ *
+ * ao-dao-api is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * ao-dao-api is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with ao-dao-api.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package com.aoapps.dao.benchmark;
+
+import com.aoapps.dao.Row;
+import com.aoapps.dao.Table;
+
+/**
+ * A narrow row with an integer key and two text columns, one short and one wide.
+ */
+public final class BenchRow implements Row<Integer, BenchRow>, Comparable<BenchRow> {
+
+  private final Table<Integer, BenchRow> table;
+  private final int id;
+  private final String name;
+  private final String description;
+
+  BenchRow(Table<Integer, BenchRow> table, int id, String name, String description) {
+    this.table = table;
+    this.id = id;
+    this.name = name;
+    this.description = description;
+  }
+
+  @Override
+  public Table<Integer, BenchRow> getTable() {
+    return table;
+  }
+
+  @Override
+  public Integer getKey() {
+    return id;
+  }
+
+  public int getId() {
+    return id;
+  }
+
+  public String getName() {
+    return name;
+  }
+
+  public String getDescription() {
+    return description;
+  }
+
+  @Override
+  public int compareTo(BenchRow o) {
+    return Integer.compare(id, o.id);
+  }
+
+  @Override
+  public boolean equals(Object obj) {
+    return (obj instanceof BenchRow) && id == ((BenchRow) obj).id;
+  }
+
+  @Override
+  public int hashCode() {
+    return id;
+  }
+
+  @Override
+  public String toString() {
+    return name;
+  }
+
+  /**
+   * Generates the name of the row with the given id.
+   */
+  static String nameOf(int id) {
+    return "row-" + id;
+  }
+
+  /**
+   * Generates the description of the row with the given id, wide enough to be representative of a text column.
+   */
+  static String descriptionOf(int id) {
+    StringBuilder description = new StringBuilder(200);
+    while (description.length() < 200) {
+      description.append("Description of row ").append(id).append(". ");
+    }
+    return description.toString();
+  }
+}
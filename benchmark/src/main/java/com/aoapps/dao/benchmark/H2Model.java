@@ -0,0 +1,177 @@
+/*
+ * ao-dao-api - Simple data access objects framework API.
+ * Copyright (C) 2026  AO Industries, Inc.
+ *     support@aoindustries.com
+ *     7262 Bull Pen Cir
+ *     Mobile, AL 36695
+ *
+ * This file is part of ao-dao-api.
+ *
+ * ao-dao-api is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * ao-dao-api is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with ao-dao-api.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package com.aoapps.dao.benchmark;
+
+import com.aoapps.dao.Model;
+import com.aoapps.dao.Report;
+import com.aoapps.dao.StatementCache;
+import com.aoapps.dao.Table;
+import com.aoapps.lang.concurrent.CallableE;
+import com.aoapps.lang.exception.WrappedException;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * A model containing a single {@link H2Table}, in an in-memory H2 database.
+ * Each thread has its own connection, which is used for both queries and transactions, along with a
+ * {@link StatementCache} kept for the life of the connection.
+ */
+final class H2Model implements Model, AutoCloseable {
+
+  private static final AtomicInteger databaseCounter = new AtomicInteger();
+
+  private final String url;
+  private final H2Table table;
+  private final Map<String, Report> reports;
+  private final List<StatementCache> statementCaches = new ArrayList<>();
+  private final ThreadLocal<StatementCache> statementCache = ThreadLocal.withInitial(this::newStatementCache);
+
+  H2Model(int size) throws SQLException {
+    this.url = "jdbc:h2:mem:bench" + databaseCounter.incrementAndGet() + ";DB_CLOSE_DELAY=-1";
+    this.table = new H2Table(this);
+    this.reports = Collections.singletonMap(TableReport.NAME, new TableReport(table));
+    Connection conn = getConnection();
+    try (Statement stmt = conn.createStatement()) {
+      stmt.executeUpdate(
+          "CREATE TABLE bench_row (\n"
+              + "  id INTEGER PRIMARY KEY,\n"
+              + "  name VARCHAR(100) NOT NULL,\n"
+              + "  description VARCHAR(1000) NOT NULL\n"
+              + ")"
+      );
+    }
+    conn.setAutoCommit(false);
+    try (PreparedStatement pstmt = conn.prepareStatement("INSERT INTO bench_row VALUES (?, ?, ?)")) {
+      for (int id = 0; id < size; id++) {
+        pstmt.setInt(1, id);
+        pstmt.setString(2, BenchRow.nameOf(id));
+        pstmt.setString(3, BenchRow.descriptionOf(id));
+        pstmt.addBatch();
+        if ((id % 10000) == 9999) {
+          pstmt.executeBatch();
+        }
+      }
+      pstmt.executeBatch();
+    }
+    conn.commit();
+    conn.setAutoCommit(true);
+  }
+
+  private StatementCache newStatementCache() {
+    try {
+      StatementCache cache = new StatementCache(DriverManager.getConnection(url), null);
+      synchronized (statementCaches) {
+        statementCaches.add(cache);
+      }
+      return cache;
+    } catch (SQLException e) {
+      throw new WrappedException(e);
+    }
+  }
+
+  /**
+   * Gets the statement cache for the connection of the current thread.
+   */
+  StatementCache getStatementCache() {
+    return statementCache.get();
+  }
+
+  /**
+   * Gets the connection for the current thread.
+   */
+  Connection getConnection() {
+    return getStatementCache().getConnection();
+  }
+
+  @Override
+  public String getName() {
+    return "h2";
+  }
+
+  @Override
+  public Comparator<? super String> getComparator() {
+    return Comparator.naturalOrder();
+  }
+
+  @Override
+  public Map<String, ? extends Table<?, ?>> getTables() {
+    return Collections.singletonMap(table.getName(), table);
+  }
+
+  H2Table getTable() {
+    return table;
+  }
+
+  @Override
+  public <V, Ex extends Throwable> V transactionCall(Class<? extends Ex> exClass, CallableE<? extends V, ? extends Ex> callable) throws SQLException, Ex {
+    Connection conn = getConnection();
+    if (!conn.getAutoCommit()) {
+      // Already in a transaction
+      return callable.call();
+    }
+    conn.setAutoCommit(false);
+    try {
+      V result = callable.call();
+      conn.commit();
+      return result;
+    } catch (Throwable t) {
+      conn.rollback();
+      throw t;
+    } finally {
+      conn.setAutoCommit(true);
+    }
+  }
+
+  @Override
+  public Map<String, Report> getReports() {
+    return reports;
+  }
+
+  @Override
+  public void close() throws SQLException {
+    synchronized (statementCaches) {
+      for (StatementCache cache : statementCaches) {
+        cache.close();
+      }
+      if (!statementCaches.isEmpty()) {
+        try (Statement stmt = statementCaches.get(0).getConnection().createStatement()) {
+          stmt.execute("SHUTDOWN");
+        }
+      }
+      for (StatementCache cache : statementCaches) {
+        cache.getConnection().close();
+      }
+      statementCaches.clear();
+    }
+  }
+}
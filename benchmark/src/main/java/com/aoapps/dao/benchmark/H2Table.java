@@ -0,0 +1,130 @@
+/*
+ * ao-dao-api - Simple data access objects framework API.
+ * Copyright (C) 2026  AO Industries, Inc.
+ *     support@aoindustries.com
+ *     7262 Bull Pen Cir
+ *     Mobile, AL 36695
+ *
+ * This file is part of ao-dao-api.
+ *
+ * ao-dao-api is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * ao-dao-api is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with ao-dao-api.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package com.aoapps.dao.benchmark;
+
+import com.aoapps.dao.Table;
+import com.aoapps.dbc.NoRowException;
+import com.aoapps.lang.exception.WrappedException;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.SortedMap;
+import java.util.SortedSet;
+import java.util.TreeMap;
+import java.util.TreeSet;
+
+/**
+ * An uncached table that queries the database on every call, relying on the default methods of {@link Table} for
+ * everything else.  This measures the defaults on top of round-trips to an embedded database.
+ * Statements are reused from the {@link com.aoapps.dao.StatementCache} of the connection.
+ */
+final class H2Table implements Table<Integer, BenchRow> {
+
+  private static final String SELECT_ALL = "SELECT id, name, description FROM bench_row";
+  private static final String SELECT_ONE = SELECT_ALL + " WHERE id = ?";
+
+  private final H2Model model;
+
+  H2Table(H2Model model) {
+    this.model = model;
+  }
+
+  @Override
+  public H2Model getModel() {
+    return model;
+  }
+
+  @Override
+  public String getName() {
+    return "bench_row";
+  }
+
+  private BenchRow newRow(ResultSet result) throws SQLException {
+    return new BenchRow(this, result.getInt(1), result.getString(2), result.getString(3));
+  }
+
+  private List<BenchRow> selectAll() throws SQLException {
+    List<BenchRow> rows = new ArrayList<>();
+    PreparedStatement pstmt = model.getStatementCache().prepareStatement(getName(), SELECT_ALL);
+    try (ResultSet results = pstmt.executeQuery()) {
+      while (results.next()) {
+        rows.add(newRow(results));
+      }
+    }
+    return rows;
+  }
+
+  private void selectAll(Map<Integer, BenchRow> map) {
+    try {
+      for (BenchRow row : selectAll()) {
+        map.put(row.getKey(), row);
+      }
+    } catch (SQLException e) {
+      throw new WrappedException(e);
+    }
+  }
+
+  @Override
+  public Map<Integer, BenchRow> getMap() {
+    Map<Integer, BenchRow> map = new HashMap<>();
+    selectAll(map);
+    return Collections.unmodifiableMap(map);
+  }
+
+  @Override
+  public SortedMap<Integer, BenchRow> getSortedMap() {
+    SortedMap<Integer, BenchRow> map = new TreeMap<>();
+    selectAll(map);
+    return Collections.unmodifiableSortedMap(map);
+  }
+
+  @Override
+  public Set<BenchRow> getUnsortedRows() throws SQLException {
+    return Collections.unmodifiableSet(new HashSet<>(selectAll()));
+  }
+
+  @Override
+  public SortedSet<BenchRow> getRows() throws SQLException {
+    return Collections.unmodifiableSortedSet(new TreeSet<>(selectAll()));
+  }
+
+  @Override
+  public BenchRow get(Integer key) throws NoRowException, SQLException {
+    PreparedStatement pstmt = model.getStatementCache().prepareStatement(getName(), SELECT_ONE);
+    pstmt.setInt(1, key);
+    try (ResultSet result = pstmt.executeQuery()) {
+      if (!result.next()) {
+        throw new NoRowException("bench_row not found: " + key);
+      }
+      return newRow(result);
+    }
+  }
+}
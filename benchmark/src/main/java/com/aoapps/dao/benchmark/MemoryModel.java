@@ -0,0 +1,76 @@
+/*
+ * ao-dao-api - Simple data access objects framework API.
+ * Copyright (C) 2026  AO Industries, Inc.
+ *     support@aoindustries.com
+ *     7262 Bull Pen Cir
+ *     Mobile, AL 36695
+ *
+ * This file is part of ao-dao-api.
+ *
+ * ao-dao-api is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * ao-dao-api is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with ao-dao-api.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package com.aoapps.dao.benchmark;
+
+import com.aoapps.dao.Model;
+import com.aoapps.dao.Report;
+import com.aoapps.dao.Table;
+import com.aoapps.lang.concurrent.CallableE;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.Map;
+
+/**
+ * A model containing a single {@link MemoryTable}.
+ */
+final class MemoryModel implements Model {
+
+  private final MemoryTable table;
+  private final Map<String, Report> reports;
+
+  MemoryModel(int size) {
+    this.table = new MemoryTable(this, size);
+    this.reports = Collections.singletonMap(TableReport.NAME, new TableReport(table));
+  }
+
+  @Override
+  public String getName() {
+    return "memory";
+  }
+
+  @Override
+  public Comparator<? super String> getComparator() {
+    return Comparator.naturalOrder();
+  }
+
+  @Override
+  public Map<String, ? extends Table<?, ?>> getTables() {
+    return Collections.singletonMap(table.getName(), table);
+  }
+
+  MemoryTable getTable() {
+    return table;
+  }
+
+  @Override
+  public <V, Ex extends Throwable> V transactionCall(Class<? extends Ex> exClass, CallableE<? extends V, ? extends Ex> callable) throws Ex {
+    // Read-only data, nothing to commit or roll back
+    return callable.call();
+  }
+
+  @Override
+  public Map<String, Report> getReports() {
+    return reports;
+  }
+}
@@ -0,0 +1,101 @@
+/*
+ * ao-dao-api - Simple data access objects framework API.
+ * Copyright (C) 2026  AO Industries, Inc.
+ *     support@aoindustries.com
+ *     7262 Bull Pen Cir
+ *     Mobile, AL 36695
+ *
+ * This file is part of ao-dao-api.
+ *
+ * ao-dao-api is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * ao-dao-api is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with ao-dao-api.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package com.aoapps.dao.benchmark;
+
+import com.aoapps.dao.Model;
+import com.aoapps.dao.Table;
+import com.aoapps.dbc.NoRowException;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.SortedMap;
+import java.util.SortedSet;
+import java.util.TreeMap;
+import java.util.TreeSet;
+
+/**
+ * A fully cached table, populated once, relying on the default methods of {@link Table} for everything else.
+ * This measures the defaults themselves, without any database cost.
+ */
+final class MemoryTable implements Table<Integer, BenchRow> {
+
+  private final Model model;
+  private final Map<Integer, BenchRow> map;
+  private final SortedMap<Integer, BenchRow> sortedMap;
+  private final Set<BenchRow> unsortedRows;
+  private final SortedSet<BenchRow> rows;
+
+  MemoryTable(Model model, int size) {
+    this.model = model;
+    Map<Integer, BenchRow> newMap = new HashMap<>(size * 4 / 3 + 1);
+    for (int id = 0; id < size; id++) {
+      newMap.put(id, new BenchRow(this, id, BenchRow.nameOf(id), BenchRow.descriptionOf(id)));
+    }
+    this.map = Collections.unmodifiableMap(newMap);
+    this.sortedMap = Collections.unmodifiableSortedMap(new TreeMap<>(newMap));
+    this.unsortedRows = Collections.unmodifiableSet(new HashSet<>(newMap.values()));
+    this.rows = Collections.unmodifiableSortedSet(new TreeSet<>(newMap.values()));
+  }
+
+  @Override
+  public Model getModel() {
+    return model;
+  }
+
+  @Override
+  public String getName() {
+    return "bench_row";
+  }
+
+  @Override
+  public Map<Integer, BenchRow> getMap() {
+    return map;
+  }
+
+  @Override
+  public SortedMap<Integer, BenchRow> getSortedMap() {
+    return sortedMap;
+  }
+
+  @Override
+  public Set<BenchRow> getUnsortedRows() {
+    return unsortedRows;
+  }
+
+  @Override
+  public SortedSet<BenchRow> getRows() {
+    return rows;
+  }
+
+  @Override
+  public BenchRow get(Integer key) throws NoRowException {
+    BenchRow row = map.get(key);
+    if (row == null) {
+      throw new NoRowException("bench_row not found: " + key);
+    }
+    return row;
+  }
+}
@@ -0,0 +1,109 @@
+/*
+ * ao-dao-api - Simple data access objects framework API.
+ * Copyright (C) 2026  AO Industries, Inc.
+ *     support@aoindustries.com
+ *     7262 Bull Pen Cir
+ *     Mobile, AL 36695
+ *
+ * This file is part of ao-dao-api.
+ *
+ * ao-dao-api is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * ao-dao-api is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with ao-dao-api.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package com.aoapps.dao.benchmark;
+
+import com.aoapps.dao.ReportExporter;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.WritableByteChannel;
+import java.sql.SQLException;
+import java.util.Collections;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * Report execution and export of every row in the table.
+ *
+ * <p>Run with <code>-prof gc</code> for allocation rates.</p>
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ReportBenchmark {
+
+  /**
+   * Discards everything written, so only encoding is measured.
+   */
+  private static final class NullChannel implements WritableByteChannel {
+    @Override
+    public int write(ByteBuffer src) {
+      int remaining = src.remaining();
+      src.position(src.limit());
+      return remaining;
+    }
+
+    @Override
+    public boolean isOpen() {
+      return true;
+    }
+
+    @Override
+    public void close() {
+      // Nothing to close
+    }
+  }
+
+  @State(Scope.Thread)
+  public static class ExportState {
+
+    @Param({"CSV", "JSON_LINES", "COLUMNAR"})
+    public ReportExporter.Format format;
+
+    ReportExporter exporter;
+    WritableByteChannel channel;
+
+    @Setup
+    public void setup() {
+      exporter = new ReportExporter(format);
+      channel = new NullChannel();
+    }
+  }
+
+  @Benchmark
+  public void executeReport(TableFixture fixture, Blackhole blackhole) throws SQLException {
+    for (Iterable<?> row : fixture.report.executeReport(Collections.emptyMap()).getTableData()) {
+      for (Object value : row) {
+        blackhole.consume(value);
+      }
+    }
+  }
+
+  @Benchmark
+  public long export(TableFixture fixture, ExportState state) throws SQLException, IOException {
+    return state.exporter.export(fixture.report.executeReport(Collections.emptyMap()), state.channel);
+  }
+}
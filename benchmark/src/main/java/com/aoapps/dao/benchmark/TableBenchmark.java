@@ -0,0 +1,91 @@
+/*
+ * ao-dao-api - Simple data access objects framework API.
+ * Copyright (C) 2026  AO Industries, Inc.
+ *     support@aoindustries.com
+ *     7262 Bull Pen Cir
+ *     Mobile, AL 36695
+ *
+ * This file is part of ao-dao-api.
+ *
+ * ao-dao-api is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * ao-dao-api is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with ao-dao-api.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package com.aoapps.dao.benchmark;
+
+import java.sql.SQLException;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * Lookups, scans, and bulk fetches through the default methods of {@link com.aoapps.dao.Table}.
+ *
+ * <p>Run with <code>-prof gc</code> for allocation rates.</p>
+ */
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class TableBenchmark {
+
+  @Benchmark
+  public BenchRow get(TableFixture fixture) throws SQLException {
+    return fixture.table.get(ThreadLocalRandom.current().nextInt(fixture.size));
+  }
+
+  @Benchmark
+  public boolean contains(TableFixture fixture) {
+    return fixture.table.contains(fixture.row);
+  }
+
+  @Benchmark
+  public boolean containsAll(TableFixture fixture) {
+    return fixture.table.containsAll(fixture.rows);
+  }
+
+  @Benchmark
+  public int getSize(TableFixture fixture) throws SQLException {
+    return fixture.table.getSize();
+  }
+
+  @Benchmark
+  public Object[] toArray(TableFixture fixture) {
+    return fixture.table.toArray();
+  }
+
+  @Benchmark
+  public void scanRows(TableFixture fixture, Blackhole blackhole) throws SQLException {
+    for (BenchRow row : fixture.table.getRows()) {
+      blackhole.consume(row);
+    }
+  }
+
+  @Benchmark
+  public Object getRowsByKeys(TableFixture fixture) throws SQLException {
+    return fixture.table.getRows(fixture.keys);
+  }
+
+  @Benchmark
+  public Object getOrderedRows(TableFixture fixture) throws SQLException {
+    return fixture.table.getOrderedRows(fixture.keys);
+  }
+}
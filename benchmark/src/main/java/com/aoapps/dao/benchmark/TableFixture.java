@@ -0,0 +1,137 @@
+/*
+ * ao-dao-api - Simple data access objects framework API.
+ * Copyright (C) 2026  AO Industries, Inc.
+ *     support@aoindustries.com
+ *     7262 Bull Pen Cir
+ *     Mobile, AL 36695
+ *
+ * This file is part of ao-dao-api.
+ *
+ * ao-dao-api is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * ao-dao-api is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with ao-dao-api.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package com.aoapps.dao.benchmark;
+
+import com.aoapps.dao.InMemoryModel;
+import com.aoapps.dao.InMemoryTable;
+import com.aoapps.dao.Model;
+import com.aoapps.dao.Report;
+import com.aoapps.dao.Table;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+/**
+ * A populated model and table, shared by all threads of a benchmark trial.
+ *
+ * <p>Sizes and backends may be narrowed on the command line, such as
+ * <code>-p size=1000 -p backend=memory</code>.</p>
+ */
+@State(Scope.Benchmark)
+public class TableFixture {
+
+  /**
+   * The number of keys used by the bulk-fetch benchmarks.
+   */
+  static final int BATCH_SIZE = 100;
+
+  @Param({"1000", "100000", "1000000"})
+  public int size;
+
+  /**
+   * <code>memory</code> is fully cached and relies on the {@link Table} defaults, <code>inmemory</code> is
+   * {@link InMemoryTable}, and <code>h2</code> is an uncached table in an embedded database.
+   */
+  @Param({"memory", "inmemory", "h2"})
+  public String backend;
+
+  Model model;
+  Table<Integer, BenchRow> table;
+  Report report;
+
+  /**
+   * Random, but reproducible between runs.
+   */
+  List<Integer> keys;
+  List<BenchRow> rows;
+  BenchRow row;
+
+  @Setup(Level.Trial)
+  public void setup() throws SQLException {
+    switch (backend) {
+      case "memory": {
+        MemoryModel memoryModel = new MemoryModel(size);
+        model = memoryModel;
+        table = memoryModel.getTable();
+        break;
+      }
+      case "inmemory": {
+        InMemoryModel inMemoryModel = new InMemoryModel("inmemory");
+        InMemoryTable<Integer, BenchRow> inMemoryTable = new InMemoryTable<>(inMemoryModel, "bench_row");
+        List<BenchRow> newRows = new ArrayList<>(size);
+        for (int id = 0; id < size; id++) {
+          newRows.add(new BenchRow(inMemoryTable, id, BenchRow.nameOf(id), BenchRow.descriptionOf(id)));
+        }
+        inMemoryTable.replaceAll(newRows);
+        model = inMemoryModel;
+        table = inMemoryTable;
+        break;
+      }
+      case "h2": {
+        H2Model h2Model = new H2Model(size);
+        model = h2Model;
+        table = h2Model.getTable();
+        break;
+      }
+      default:
+        throw new IllegalArgumentException("Unexpected backend: " + backend);
+    }
+    report = new TableReport(table);
+    Random random = new Random(size);
+    List<Integer> newKeys = new ArrayList<>(BATCH_SIZE);
+    List<BenchRow> newRows = new ArrayList<>(BATCH_SIZE);
+    for (int i = 0; i < BATCH_SIZE; i++) {
+      Integer key = random.nextInt(size);
+      newKeys.add(key);
+      newRows.add(table.get(key));
+    }
+    keys = Collections.unmodifiableList(newKeys);
+    rows = Collections.unmodifiableList(newRows);
+    row = rows.get(0);
+  }
+
+  @TearDown(Level.Trial)
+  public void tearDown() throws SQLException {
+    if (model instanceof AutoCloseable) {
+      try {
+        ((AutoCloseable) model).close();
+      } catch (SQLException | RuntimeException e) {
+        throw e;
+      } catch (Exception e) {
+        throw new SQLException(e);
+      }
+    }
+    model = null;
+    table = null;
+    report = null;
+  }
+}
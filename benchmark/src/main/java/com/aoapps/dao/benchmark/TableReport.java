@@ -0,0 +1,158 @@
+/*
+ * ao-dao-api - Simple data access objects framework API.
+ * Copyright (C) 2026  AO Industries, Inc.
+ *     support@aoindustries.com
+ *     7262 Bull Pen Cir
+ *     Mobile, AL 36695
+ *
+ * This file is part of ao-dao-api.
+ *
+ * ao-dao-api is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * ao-dao-api is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with ao-dao-api.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package com.aoapps.dao.benchmark;
+
+import com.aoapps.dao.Report;
+import com.aoapps.dao.Table;
+import java.sql.SQLException;
+import java.util.AbstractList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * A parameterless report listing every row of a table, used to measure report execution and export.
+ */
+final class TableReport implements Report {
+
+  static final String NAME = "bench_row_report";
+
+  private static final class SimpleColumn implements Column {
+    private final String name;
+    private final Alignment alignment;
+
+    private SimpleColumn(String name, Alignment alignment) {
+      this.name = name;
+      this.alignment = alignment;
+    }
+
+    @Override
+    public String getName() {
+      return name;
+    }
+
+    @Override
+    public String getLabel() {
+      return name;
+    }
+
+    @Override
+    public Alignment getAlignment() {
+      return alignment;
+    }
+  }
+
+  private static final List<Column> COLUMNS = Arrays.asList(
+      new SimpleColumn("id", Alignment.right),
+      new SimpleColumn("name", Alignment.left),
+      new SimpleColumn("description", Alignment.left)
+  );
+
+  private final Table<Integer, BenchRow> table;
+
+  TableReport(Table<Integer, BenchRow> table) {
+    this.table = table;
+  }
+
+  @Override
+  public String getName() {
+    return NAME;
+  }
+
+  @Override
+  public String getTitle() {
+    return NAME;
+  }
+
+  @Override
+  public String getTitle(Map<String, ? extends Object> parameterValues) {
+    return getTitle();
+  }
+
+  @Override
+  public String getDescription() {
+    return "All rows of " + table.getName();
+  }
+
+  @Override
+  public String getDescription(Map<String, ? extends Object> parameterValues) {
+    return getDescription();
+  }
+
+  @Override
+  public Iterable<? extends Parameter> getParameters() {
+    return Collections.emptyList();
+  }
+
+  @Override
+  public Result executeReport(Map<String, ? extends Object> parameterValues) throws SQLException {
+    Iterable<? extends BenchRow> rows = table.getRows();
+    return new Result() {
+      @Override
+      public List<? extends Column> getColumns() {
+        return COLUMNS;
+      }
+
+      @Override
+      public Iterable<? extends Iterable<?>> getTableData() {
+        return () -> {
+          Iterator<? extends BenchRow> iter = rows.iterator();
+          return new Iterator<Iterable<?>>() {
+            @Override
+            public boolean hasNext() {
+              return iter.hasNext();
+            }
+
+            @Override
+            public Iterable<?> next() {
+              BenchRow row = iter.next();
+              return new AbstractList<Object>() {
+                @Override
+                public Object get(int index) {
+                  switch (index) {
+                    case 0:
+                      return row.getId();
+                    case 1:
+                      return row.getName();
+                    case 2:
+                      return row.getDescription();
+                    default:
+                      throw new IndexOutOfBoundsException(Integer.toString(index));
+                  }
+                }
+
+                @Override
+                public int size() {
+                  return COLUMNS.size();
+                }
+              };
+            }
+          };
+        };
+      }
+    };
+  }
+}
@@ -0,0 +1,458 @@
+/*
+ * ao-dao-api - Simple data access objects framework API.
+ * Copyright (C) 2026  AO Industries, Inc.
+ *     support@aoindustries.com
+ *     7262 Bull Pen Cir
+ *     Mobile, AL 36695
+ *
+ * This file is part of ao-dao-api.
+ *
+ * ao-dao-api is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * ao-dao-api is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with ao-dao-api.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package com.aoapps.dao;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * A cache limited by the total weight of its values, for the per-thread and global caches of a {@link Table}.
+ *
+ * <p>Eviction is a simplified W-TinyLFU: new entries enter a small LRU window, and entries leaving the window are
+ * only admitted to the main LRU region when they have been accessed more often recently than the entry they would
+ * evict, as estimated by a frequency sketch.  This keeps one scan of many rarely used rows from flushing the
+ * frequently used rows.</p>
+ *
+ * <p>The cache never modifies its values; an evicted value is only dropped.  Any snapshot cached as a value, such as
+ * the result of {@link Table#getRows()}, remains valid for whoever already has it.</p>
+ *
+ * <p>This class is thread-safe.  Reads do not lock: each access is recorded in a lossy buffer, striped by thread,
+ * and applied to the recency order and frequency sketch under the lock once a stripe fills, or on the next write.
+ * When a stripe is full or contended, the access is dropped, which only affects the accuracy of eviction.  Writes
+ * are serialized by the lock.</p>
+ */
+public final class BoundedCache<K, V> {
+
+  /**
+   * Estimates the weight of a value, typically in bytes.
+   */
+  @FunctionalInterface
+  public static interface Weigher<V> {
+
+    /**
+     * Gets the weight of the value, at least zero.
+     */
+    int weigh(V value);
+
+    /**
+     * Gets a weigher giving each value a weight of one, limiting the cache by number of entries.
+     */
+    static <V> Weigher<V> unit() {
+      return value -> 1;
+    }
+  }
+
+  /**
+   * One stripe of the read buffer, a ring of recently read keys.  Written by any thread, and read only while holding
+   * the lock of the cache.
+   */
+  private static final class ReadStripe {
+
+    private static final int SIZE = 16;
+    private static final int MASK = SIZE - 1;
+
+    private final AtomicReferenceArray<Object> keys = new AtomicReferenceArray<>(SIZE);
+    private final AtomicLong writes = new AtomicLong();
+    private volatile long reads;
+
+    /**
+     * Records a read, dropping it when this stripe is full or another thread is writing at the same time.
+     *
+     * @return  <code>true</code> when this stripe is full and should be drained
+     */
+    private boolean offer(Object key) {
+      long head = reads;
+      long tail = writes.get();
+      if (tail - head >= SIZE) {
+        return true;
+      }
+      if (writes.compareAndSet(tail, tail + 1)) {
+        keys.lazySet((int) tail & MASK, key);
+        return tail + 1 - head >= SIZE;
+      }
+      return false;
+    }
+  }
+
+  /**
+   * The maximum number of stripes in the read buffer, which are allocated as threads contend.
+   */
+  private static final int MAX_READ_STRIPES = 16;
+
+  private static int readStripes() {
+    int processors = Runtime.getRuntime().availableProcessors();
+    return Math.min(processors <= 1 ? 1 : Integer.highestOneBit(processors - 1) << 1, MAX_READ_STRIPES);
+  }
+
+  private static final int READ_STRIPES = readStripes();
+
+  private static final class Node<V> {
+
+    private final V value;
+    private final int weight;
+
+    private Node(V value, int weight) {
+      this.value = value;
+      this.weight = weight;
+    }
+  }
+
+  /**
+   * The portion of the maximum weight used for the admission window, in percent.
+   */
+  private static final int WINDOW_PERCENT = 1;
+
+  private final long maxWeight;
+  private final long windowMaxWeight;
+  private final Weigher<? super V> weigher;
+  private final CacheBudget budget;
+  private final TableMetrics metrics;
+
+  private final ReentrantLock lock = new ReentrantLock();
+
+  /**
+   * All entries, for reads without the lock.  Modified only while holding the lock, along with the window and main
+   * regions.
+   */
+  private final ConcurrentMap<K, Node<V>> entries = new ConcurrentHashMap<>();
+  private final AtomicReferenceArray<ReadStripe> readBuffer = new AtomicReferenceArray<>(READ_STRIPES);
+
+  private final LinkedHashMap<K, Node<V>> window = new LinkedHashMap<>(16, 0.75f, true);
+  private final LinkedHashMap<K, Node<V>> main = new LinkedHashMap<>(16, 0.75f, true);
+  private final FrequencySketch sketch = new FrequencySketch();
+  private long windowWeight;
+  private volatile long weight;
+
+  /**
+   * @param  maxWeight  the maximum total weight of this cache
+   * @param  budget     the shared limit of a group of caches or <code>null</code> for none
+   * @param  metrics    receives cache hits, misses, and evictions or <code>null</code> for none
+   *
+   * @see  Model#getCacheBudget()
+   * @see  Table#getMetrics()
+   */
+  public BoundedCache(long maxWeight, Weigher<? super V> weigher, CacheBudget budget, TableMetrics metrics) {
+    if (maxWeight <= 0) {
+      throw new IllegalArgumentException("maxWeight <= 0: " + maxWeight);
+    }
+    this.maxWeight = maxWeight;
+    this.windowMaxWeight = Math.max(1, maxWeight * WINDOW_PERCENT / 100);
+    this.weigher = weigher;
+    this.budget = budget;
+    this.metrics = metrics;
+  }
+
+  /**
+   * Gets the maximum total weight of this cache.
+   */
+  public long getMaxWeight() {
+    return maxWeight;
+  }
+
+  /**
+   * Gets the current total weight of this cache.
+   */
+  public long getWeight() {
+    return weight;
+  }
+
+  /**
+   * Gets the number of entries.
+   */
+  public int size() {
+    return entries.size();
+  }
+
+  /**
+   * Gets a cached value without locking.
+   *
+   * @return  the value or <code>null</code> when not cached
+   */
+  public V get(K key) {
+    Node<V> node = entries.get(key);
+    if (recordRead(key) && lock.tryLock()) {
+      try {
+        drainReadBuffer();
+      } finally {
+        lock.unlock();
+      }
+    }
+    if (metrics != null) {
+      if (node != null) {
+        metrics.recordCacheHit();
+      } else {
+        metrics.recordCacheMiss();
+      }
+    }
+    return node == null ? null : node.value;
+  }
+
+  /**
+   * Caches a value, replacing any previous value for the key, then evicts as needed.  A value weighing more than
+   * the whole cache is not cached.
+   */
+  public void put(K key, V value) {
+    int valueWeight = weigher.weigh(value);
+    if (valueWeight < 0) {
+      throw new IllegalArgumentException("Negative weight: " + valueWeight);
+    }
+    int evicted = 0;
+    lock.lock();
+    try {
+      drainReadBuffer();
+      removeNode(key);
+      if (valueWeight <= maxWeight) {
+        sketch.increment(key);
+        Node<V> node = new Node<>(value, valueWeight);
+        window.put(key, node);
+        entries.put(key, node);
+        windowWeight += valueWeight;
+        addWeight(valueWeight);
+        sketch.ensureCapacity(entries.size());
+        evicted = evict();
+      }
+    } finally {
+      lock.unlock();
+    }
+    recordEvictions(evicted);
+    if (budget != null) {
+      budget.enforce();
+    }
+  }
+
+  /**
+   * Removes a value.
+   *
+   * @return  the previous value or <code>null</code> when not cached
+   */
+  public V remove(K key) {
+    Node<V> node;
+    lock.lock();
+    try {
+      drainReadBuffer();
+      node = removeNode(key);
+    } finally {
+      lock.unlock();
+    }
+    return node == null ? null : node.value;
+  }
+
+  /**
+   * Removes all entries.
+   */
+  public void clear() {
+    lock.lock();
+    try {
+      drainReadBuffer();
+      window.clear();
+      main.clear();
+      entries.clear();
+      windowWeight = 0;
+      addWeight(-weight);
+    } finally {
+      lock.unlock();
+    }
+  }
+
+  /**
+   * Records a read in the stripe of the current thread, allocating the stripe on first use.
+   *
+   * @return  <code>true</code> when the stripe is full and should be drained
+   */
+  private boolean recordRead(K key) {
+    int h = (int) Thread.currentThread().getId() * 0x9E3779B9;
+    int index = (h ^ (h >>> 16)) & (READ_STRIPES - 1);
+    ReadStripe stripe = readBuffer.get(index);
+    if (stripe == null) {
+      stripe = new ReadStripe();
+      if (!readBuffer.compareAndSet(index, null, stripe)) {
+        stripe = readBuffer.get(index);
+      }
+    }
+    return stripe.offer(key);
+  }
+
+  /**
+   * Applies the recorded reads to the frequency sketch and the recency order.
+   * Must be holding the lock.
+   */
+  @SuppressWarnings("unchecked")
+  private void drainReadBuffer() {
+    for (int i = 0; i < READ_STRIPES; i++) {
+      ReadStripe stripe = readBuffer.get(i);
+      if (stripe != null) {
+        long head = stripe.reads;
+        long tail = stripe.writes.get();
+        while (head < tail) {
+          int slot = (int) head & ReadStripe.MASK;
+          K key = (K) stripe.keys.get(slot);
+          if (key == null) {
+            // Not yet written, drained next time
+            break;
+          }
+          stripe.keys.lazySet(slot, null);
+          head++;
+          sketch.increment(key);
+          // Moves to most recently used
+          if (window.get(key) == null) {
+            main.get(key);
+          }
+        }
+        stripe.reads = head;
+      }
+    }
+  }
+
+  private Node<V> removeNode(K key) {
+    Node<V> node = window.remove(key);
+    if (node != null) {
+      windowWeight -= node.weight;
+    } else {
+      node = main.remove(key);
+      if (node == null) {
+        return null;
+      }
+    }
+    entries.remove(key);
+    addWeight(-node.weight);
+    return node;
+  }
+
+  /**
+   * Must be holding the lock.
+   */
+  private void addWeight(long delta) {
+    long newWeight = weight + delta;
+    weight = newWeight;
+    if (budget != null) {
+      budget.add(this, delta);
+      if (newWeight == 0) {
+        budget.remove(this);
+      }
+    }
+  }
+
+  private static <K, V> Map.Entry<K, Node<V>> eldest(LinkedHashMap<K, Node<V>> map) {
+    Iterator<Map.Entry<K, Node<V>>> iter = map.entrySet().iterator();
+    return iter.hasNext() ? iter.next() : null;
+  }
+
+  /**
+   * Moves entries from the window to the main region, then evicts until within the maximum weight.
+   * Must be holding the lock.
+   *
+   * @return  the number of entries evicted
+   */
+  private int evict() {
+    int evicted = 0;
+    while (windowWeight > windowMaxWeight) {
+      Map.Entry<K, Node<V>> candidate = eldest(window);
+      K candidateKey = candidate.getKey();
+      Node<V> candidateNode = candidate.getValue();
+      window.remove(candidateKey);
+      windowWeight -= candidateNode.weight;
+      main.put(candidateKey, candidateNode);
+      // Admit the candidate only when more frequently used than each entry it would evict
+      while (weight > maxWeight) {
+        Map.Entry<K, Node<V>> victim = eldest(main);
+        K victimKey = victim.getKey();
+        if (victimKey.equals(candidateKey)) {
+          break;
+        }
+        if (sketch.frequency(candidateKey) > sketch.frequency(victimKey)) {
+          main.remove(victimKey);
+          entries.remove(victimKey);
+          addWeight(-victim.getValue().weight);
+          evicted++;
+        } else {
+          main.remove(candidateKey);
+          entries.remove(candidateKey);
+          addWeight(-candidateNode.weight);
+          evicted++;
+          break;
+        }
+      }
+    }
+    while (weight > maxWeight) {
+      if (!evictEldest()) {
+        break;
+      }
+      evicted++;
+    }
+    return evicted;
+  }
+
+  /**
+   * Must be holding the lock.
+   */
+  private boolean evictEldest() {
+    Map.Entry<K, Node<V>> eldest = eldest(main);
+    if (eldest != null) {
+      main.remove(eldest.getKey());
+    } else {
+      eldest = eldest(window);
+      if (eldest == null) {
+        return false;
+      }
+      window.remove(eldest.getKey());
+      windowWeight -= eldest.getValue().weight;
+    }
+    entries.remove(eldest.getKey());
+    addWeight(-eldest.getValue().weight);
+    return true;
+  }
+
+  /**
+   * Evicts the least recently used entry, for {@link CacheBudget}.
+   *
+   * @return  <code>true</code> when an entry was evicted or <code>false</code> when empty
+   */
+  boolean evictOne() {
+    boolean evicted;
+    lock.lock();
+    try {
+      evicted = evictEldest();
+    } finally {
+      lock.unlock();
+    }
+    if (evicted) {
+      recordEvictions(1);
+    }
+    return evicted;
+  }
+
+  private void recordEvictions(int evicted) {
+    if (metrics != null) {
+      for (int i = 0; i < evicted; i++) {
+        metrics.recordCacheEviction();
+      }
+    }
+  }
+}
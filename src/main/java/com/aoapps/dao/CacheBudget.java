@@ -0,0 +1,102 @@
+/*
+ * ao-dao-api - Simple data access objects framework API.
+ * Copyright (C) 2026  AO Industries, Inc.
+ *     support@aoindustries.com
+ *     7262 Bull Pen Cir
+ *     Mobile, AL 36695
+ *
+ * This file is part of ao-dao-api.
+ *
+ * ao-dao-api is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * ao-dao-api is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with ao-dao-api.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package com.aoapps.dao;
+
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * A limit on the total weight of a group of {@link BoundedCache}, such as all the caches of one {@link Model}.
+ *
+ * <p>When the limit is exceeded, entries are evicted from whichever cache in the group currently has the greatest
+ * weight.  Each cache is in the group only while it holds entries, so per-thread caches must be cleared, as done by
+ * {@link Table#clearCaches()}, to leave the group.</p>
+ *
+ * @see  Model#getCacheBudget()
+ */
+public final class CacheBudget {
+
+  private final long maxWeight;
+  private final AtomicLong weight = new AtomicLong();
+  private final Set<BoundedCache<?, ?>> caches = ConcurrentHashMap.newKeySet();
+
+  /**
+   * Creates a new budget with no caches.
+   *
+   * @param  maxWeight  the maximum total weight of all caches in the group
+   */
+  public CacheBudget(long maxWeight) {
+    if (maxWeight <= 0) {
+      throw new IllegalArgumentException("maxWeight <= 0: " + maxWeight);
+    }
+    this.maxWeight = maxWeight;
+  }
+
+  /**
+   * Gets the maximum total weight of all caches in the group.
+   */
+  public long getMaxWeight() {
+    return maxWeight;
+  }
+
+  /**
+   * Gets the current total weight of all caches in the group.
+   */
+  public long getWeight() {
+    return weight.get();
+  }
+
+  void add(BoundedCache<?, ?> cache, long delta) {
+    weight.addAndGet(delta);
+    if (delta > 0) {
+      caches.add(cache);
+    }
+  }
+
+  void remove(BoundedCache<?, ?> cache) {
+    caches.remove(cache);
+  }
+
+  /**
+   * Evicts from the heaviest caches until within the limit.
+   * Must be called without holding the lock of any cache.
+   */
+  void enforce() {
+    while (weight.get() > maxWeight) {
+      BoundedCache<?, ?> heaviest = null;
+      long heaviestWeight = 0;
+      for (BoundedCache<?, ?> cache : caches) {
+        long cacheWeight = cache.getWeight();
+        if (cacheWeight > heaviestWeight) {
+          heaviest = cache;
+          heaviestWeight = cacheWeight;
+        }
+      }
+      if (heaviest == null || !heaviest.evictOne()) {
+        break;
+      }
+    }
+  }
+}
@@ -0,0 +1,137 @@
+/*
+ * ao-dao-api - Simple data access objects framework API.
+ * Copyright (C) 2026  AO Industries, Inc.
+ *     support@aoindustries.com
+ *     7262 Bull Pen Cir
+ *     Mobile, AL 36695
+ *
+ * This file is part of ao-dao-api.
+ *
+ * ao-dao-api is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * ao-dao-api is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with ao-dao-api.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package com.aoapps.dao;
+
+import java.util.function.Function;
+
+/**
+ * A bounded cache of canonical keys, for use by {@link Table#canonicalize(java.lang.Comparable)} implementations
+ * that allocate, such as case-insensitive matching that converts to lower-case on every lookup.
+ *
+ * <p>Canonical keys are also interned, so all rows and lookups that canonicalize to equal keys share a single
+ * instance.  Rows of a snapshot may call {@link CanonicalKeyCache#intern(java.lang.Object)} on their keys while the
+ * snapshot is built for the same effect.</p>
+ *
+ * <p>This is a direct-mapped cache: each key hashes to exactly one slot, and a colliding key simply replaces the
+ * previous entry.  It never grows beyond its capacity, and both hits and misses are lock-free.  Concurrent updates
+ * may overwrite each other, which only costs a later miss.</p>
+ */
+public final class CanonicalKeyCache<K> {
+
+  /**
+   * The default capacity.
+   */
+  public static final int DEFAULT_CAPACITY = 1024;
+
+  private static final int MAXIMUM_CAPACITY = 1 << 30;
+
+  /**
+   * Immutable so that it may be safely published through the unsynchronized slots.
+   */
+  private static final class Entry<K> {
+    private final K key;
+    private final K canonical;
+
+    private Entry(K key, K canonical) {
+      this.key = key;
+      this.canonical = canonical;
+    }
+  }
+
+  private final Function<? super K, ? extends K> canonicalizer;
+  private final int mask;
+  private final Entry<K>[] entries;
+  private final Object[] interned;
+
+  /**
+   * Creates a new cache.
+   *
+   * @param  capacity       the number of slots, rounded up to a power of two
+   * @param  canonicalizer  converts a non-null key to its canonical form
+   */
+  @SuppressWarnings("unchecked")
+  public CanonicalKeyCache(int capacity, Function<? super K, ? extends K> canonicalizer) {
+    if (capacity < 1 || capacity > MAXIMUM_CAPACITY) {
+      throw new IllegalArgumentException("capacity out of range: " + capacity);
+    }
+    int size = capacity == 1 ? 1 : Integer.highestOneBit(capacity - 1) << 1;
+    this.canonicalizer = canonicalizer;
+    this.mask = size - 1;
+    this.entries = (Entry<K>[]) new Entry<?>[size];
+    this.interned = new Object[size];
+  }
+
+  /**
+   * Creates a new cache with the {@linkplain #DEFAULT_CAPACITY default capacity}.
+   *
+   * @param  canonicalizer  converts a non-null key to its canonical form
+   */
+  public CanonicalKeyCache(Function<? super K, ? extends K> canonicalizer) {
+    this(DEFAULT_CAPACITY, canonicalizer);
+  }
+
+  private int slot(Object key) {
+    int h = key.hashCode();
+    return (h ^ (h >>> 16)) & mask;
+  }
+
+  /**
+   * Gets the interned canonical form of the given key.
+   *
+   * @return  the canonical key or <code>null</code> when the key is <code>null</code>
+   */
+  public K canonicalize(K key) {
+    if (key == null) {
+      return null;
+    }
+    int slot = slot(key);
+    Entry<K> entry = entries[slot];
+    if (entry != null && (entry.key == key || entry.key.equals(key))) {
+      return entry.canonical;
+    }
+    K canonical = intern(canonicalizer.apply(key));
+    entries[slot] = new Entry<>(key, canonical);
+    return canonical;
+  }
+
+  /**
+   * Gets the shared instance equal to the given canonical key, if one is currently cached,
+   * or caches and returns the given key.
+   *
+   * @return  the shared instance or <code>null</code> when the key is <code>null</code>
+   */
+  @SuppressWarnings("unchecked")
+  public K intern(K canonical) {
+    if (canonical == null) {
+      return null;
+    }
+    int slot = slot(canonical);
+    Object existing = interned[slot];
+    if (existing != null && (existing == canonical || existing.equals(canonical))) {
+      return (K) existing;
+    }
+    interned[slot] = canonical;
+    return canonical;
+  }
+}
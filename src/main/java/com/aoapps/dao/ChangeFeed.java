@@ -0,0 +1,267 @@
+/*
+ * ao-dao-api - Simple data access objects framework API.
+ * Copyright (C) 2026  AO Industries, Inc.
+ *     support@aoindustries.com
+ *     7262 Bull Pen Cir
+ *     Mobile, AL 36695
+ *
+ * This file is part of ao-dao-api.
+ *
+ * ao-dao-api is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * ao-dao-api is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with ao-dao-api.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package com.aoapps.dao;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The keys of the rows changed in a table, each with a monotonically increasing version, for consumers that mirror
+ * a table incrementally instead of comparing full snapshots.
+ *
+ * <p>A consumer first records {@link ChangeFeed#getVersion()}, then reads the full table, then repeatedly
+ * {@linkplain ChangeFeed#poll(long, int) polls} for the changes after the last version it processed, getting the
+ * current row of each changed key.  Changes are pulled, so a consumer is never sent more than it asks for.</p>
+ *
+ * <p>Only the most recent changes are kept, up to a fixed capacity, and any number of consumers may read them
+ * independently.  A consumer that falls further behind than the capacity is given a {@link Type#RESET} change, and
+ * must read the full table again, as it must for any reset published by the table itself.</p>
+ *
+ * <p>This class is thread-safe.</p>
+ *
+ * @see  Table#getChangeFeed()
+ */
+public final class ChangeFeed<K> {
+
+  /**
+   * The type of a change.
+   */
+  public enum Type {
+    /**
+     * A row with the key was added.
+     */
+    INSERT,
+
+    /**
+     * The row with the key was replaced.
+     */
+    UPDATE,
+
+    /**
+     * The row with the key was removed.
+     */
+    REMOVE,
+
+    /**
+     * Any number of rows may have changed, such as after {@link Table#tableUpdated()} or when changes have been
+     * discarded before being read.  The key is <code>null</code>.
+     */
+    RESET
+  }
+
+  /**
+   * One change.
+   */
+  public static final class Change<K> {
+
+    private final long version;
+    private final Type type;
+    private final K key;
+
+    private Change(long version, Type type, K key) {
+      this.version = version;
+      this.type = type;
+      this.key = key;
+    }
+
+    @Override
+    public String toString() {
+      return version + ":" + type + (key == null ? "" : (":" + key));
+    }
+
+    /**
+     * Gets the version of this change, one more than the version of the change before it.
+     */
+    public long getVersion() {
+      return version;
+    }
+
+    /**
+     * Gets the type of this change.
+     */
+    public Type getType() {
+      return type;
+    }
+
+    /**
+     * Gets the key of the changed row.
+     *
+     * @return  the key or <code>null</code> for {@link Type#RESET}
+     */
+    public K getKey() {
+      return key;
+    }
+  }
+
+  /**
+   * The default maximum number of changes kept.
+   */
+  public static final int DEFAULT_CAPACITY = 64 * 1024;
+
+  private static final int INITIAL_BUFFER_SIZE = 16;
+
+  private final int capacity;
+
+  // Ring buffer, grown as needed up to capacity
+  private Change<?>[] buffer;
+  private int head;
+  private int size;
+  private long version;
+
+  /**
+   * @param  capacity  the maximum number of changes kept
+   */
+  public ChangeFeed(int capacity) {
+    if (capacity <= 0) {
+      throw new IllegalArgumentException("capacity <= 0: " + capacity);
+    }
+    this.capacity = capacity;
+    this.buffer = new Change<?>[Math.min(INITIAL_BUFFER_SIZE, capacity)];
+  }
+
+  /**
+   * Keeps up to {@link ChangeFeed#DEFAULT_CAPACITY} changes.
+   */
+  public ChangeFeed() {
+    this(DEFAULT_CAPACITY);
+  }
+
+  /**
+   * Gets the maximum number of changes kept.
+   */
+  public int getCapacity() {
+    return capacity;
+  }
+
+  /**
+   * Gets the version of the most recent change.
+   *
+   * @return  the version or <code>0</code> when nothing has been published
+   */
+  public synchronized long getVersion() {
+    return version;
+  }
+
+  /**
+   * Adds a change, discarding the oldest change when at capacity, and wakes any waiting consumers.
+   *
+   * @param  key  the key of the changed row, <code>null</code> only for {@link Type#RESET}
+   *
+   * @return  the version of the change
+   */
+  public synchronized long publish(Type type, K key) {
+    if ((key == null) != (type == Type.RESET)) {
+      throw new IllegalArgumentException("key must be null for RESET only: " + type + ", " + key);
+    }
+    if (size == buffer.length) {
+      if (size < capacity) {
+        Change<?>[] newBuffer = new Change<?>[(int) Math.min((long) size * 2, capacity)];
+        for (int i = 0; i < size; i++) {
+          newBuffer[i] = buffer[(head + i) % buffer.length];
+        }
+        buffer = newBuffer;
+        head = 0;
+      } else {
+        head = (head + 1) % buffer.length;
+        size--;
+      }
+    }
+    long newVersion = ++version;
+    buffer[(head + size) % buffer.length] = new Change<>(newVersion, type, key);
+    size++;
+    notifyAll();
+    return newVersion;
+  }
+
+  /**
+   * Adds a {@link Type#RESET} change.
+   *
+   * @return  the version of the change
+   */
+  public long reset() {
+    return publish(Type.RESET, null);
+  }
+
+  /**
+   * Gets the changes after the given version, without waiting.
+   *
+   * @param  afterVersion  the version of the last change processed, or the version when the full table was read
+   * @param  maxChanges    the maximum number of changes returned
+   *
+   * @return  the changes in order of version, empty when there are none.  When changes after the given version have
+   *          been discarded, starts with a {@link Type#RESET} having the version of the last change discarded.
+   *
+   * @throws  IllegalArgumentException  when the version is after the most recent change
+   */
+  @SuppressWarnings("unchecked")
+  public synchronized List<Change<K>> poll(long afterVersion, int maxChanges) {
+    if (afterVersion > version) {
+      throw new IllegalArgumentException("afterVersion > version: " + afterVersion + " > " + version);
+    }
+    if (maxChanges <= 0) {
+      throw new IllegalArgumentException("maxChanges <= 0: " + maxChanges);
+    }
+    if (afterVersion == version) {
+      return Collections.emptyList();
+    }
+    long oldestVersion = version - size + 1;
+    List<Change<K>> changes = new ArrayList<>((int) Math.min(maxChanges, version - afterVersion));
+    long next = afterVersion + 1;
+    if (next < oldestVersion) {
+      changes.add(new Change<>(oldestVersion - 1, Type.RESET, null));
+      next = oldestVersion;
+    }
+    while (next <= version && changes.size() < maxChanges) {
+      changes.add((Change<K>) buffer[(int) ((head + (next - oldestVersion)) % buffer.length)]);
+      next++;
+    }
+    return changes;
+  }
+
+  /**
+   * Gets the changes after the given version, waiting up to the given timeout for any change when there are none.
+   *
+   * @return  the changes in order of version, empty when the timeout elapsed without any change
+   *
+   * @see  ChangeFeed#poll(long, int)
+   */
+  public synchronized List<Change<K>> poll(
+      long afterVersion,
+      int maxChanges,
+      long timeout,
+      TimeUnit unit
+  ) throws InterruptedException {
+    long deadline = System.nanoTime() + unit.toNanos(timeout);
+    while (version == afterVersion) {
+      long remaining = deadline - System.nanoTime();
+      if (remaining <= 0) {
+        break;
+      }
+      TimeUnit.NANOSECONDS.timedWait(this, remaining);
+    }
+    return poll(afterVersion, maxChanges);
+  }
+}
@@ -0,0 +1,137 @@
+/*
+ * ao-dao-api - Simple data access objects framework API.
+ * Copyright (C) 2026  AO Industries, Inc.
+ *     support@aoindustries.com
+ *     7262 Bull Pen Cir
+ *     Mobile, AL 36695
+ *
+ * This file is part of ao-dao-api.
+ *
+ * ao-dao-api is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * ao-dao-api is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with ao-dao-api.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package com.aoapps.dao;
+
+import java.util.Comparator;
+import java.util.Objects;
+
+/**
+ * An immutable {@link Tuple2}.  The hash code is computed once at construction, and
+ * {@link DefaultTuple2#compareTo(com.aoapps.dao.DefaultTuple2)} compares the columns in order without allocation.
+ *
+ * <p>Columns may be <code>null</code>, and are ordered before all non-null values.</p>
+ *
+ * @author  AO Industries, Inc.
+ */
+public final class DefaultTuple2<
+    C1 extends Comparable<? super C1>,
+    C2 extends Comparable<? super C2>
+    > implements Tuple2<C1, C2, DefaultTuple2<C1, C2>>, Comparable<DefaultTuple2<C1, C2>> {
+
+  private final Comparator<? super String> comparator;
+  private final C1 column1;
+  private final C2 column2;
+  private final int hash;
+
+  /**
+   * Creates a new tuple.
+   *
+   * @param  comparator  the comparator used when both values of a column are {@link String},
+   *                     generally {@link Model#getComparator()}, or <code>null</code> for natural ordering
+   */
+  public DefaultTuple2(Comparator<? super String> comparator, C1 column1, C2 column2) {
+    this.comparator = comparator;
+    this.column1 = column1;
+    this.column2 = column2;
+    int h = 31 + Tuples.hashColumn(column1);
+    this.hash = 31 * h + Tuples.hashColumn(column2);
+  }
+
+  @Override
+  public C1 getColumn1() {
+    return column1;
+  }
+
+  @Override
+  public C2 getColumn2() {
+    return column2;
+  }
+
+  @Override
+  public Comparable<?>[] getColumns() {
+    return new Comparable<?>[]{column1, column2};
+  }
+
+  @Override
+  public int getColumnCount() {
+    return 2;
+  }
+
+  @Override
+  public Comparable<?> getColumn(int index) {
+    switch (index) {
+      case 0:
+        return column1;
+      case 1:
+        return column2;
+      default:
+        throw new IndexOutOfBoundsException(Integer.toString(index));
+    }
+  }
+
+  @Override
+  public String toString() {
+    StringBuilder toString = new StringBuilder().append('(');
+    toString.append(column1);
+    toString.append(',');
+    toString.append(column2);
+    return toString.append(')').toString();
+  }
+
+  @Override
+  public boolean equals(Object obj) {
+    if (this == obj) {
+      return true;
+    }
+    if (!(obj instanceof DefaultTuple2)) {
+      return false;
+    }
+    DefaultTuple2<?, ?> other = (DefaultTuple2<?, ?>) obj;
+    return
+        hash == other.hash
+            && Objects.equals(column1, other.column1)
+            && Objects.equals(column2, other.column2);
+  }
+
+  @Override
+  public int hashCode() {
+    return hash;
+  }
+
+  /**
+   * Gets the lowest possible tuple with the given first column, ordered with the same comparator as this tuple.
+   */
+  DefaultTuple2<C1, C2> getPrefixBound(C1 column1) {
+    return new DefaultTuple2<>(comparator, column1, null);
+  }
+
+  @Override
+  public int compareTo(DefaultTuple2<C1, C2> o) {
+    int diff = Tuples.compareColumn(comparator, column1, o.column1);
+    if (diff != 0) {
+      return diff;
+    }
+    return Tuples.compareColumn(comparator, column2, o.column2);
+  }
+}
@@ -0,0 +1,121 @@
+/*
+ * ao-dao-api - Simple data access objects framework API.
+ * Copyright (C) 2026  AO Industries, Inc.
+ *     support@aoindustries.com
+ *     7262 Bull Pen Cir
+ *     Mobile, AL 36695
+ *
+ * This file is part of ao-dao-api.
+ *
+ * ao-dao-api is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * ao-dao-api is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with ao-dao-api.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package com.aoapps.dao;
+
+import java.util.Arrays;
+import java.util.Comparator;
+
+/**
+ * An immutable {@link TupleN}.  The hash code is computed once at construction, and
+ * {@link DefaultTupleN#compareTo(com.aoapps.dao.DefaultTupleN)} compares the columns in order without allocation.
+ *
+ * <p>Columns may be <code>null</code>, and are ordered before all non-null values.</p>
+ *
+ * @author  AO Industries, Inc.
+ */
+public final class DefaultTupleN<
+    C extends Comparable<? super C>
+    > implements TupleN<C, DefaultTupleN<C>>, Comparable<DefaultTupleN<C>> {
+
+  private final Comparator<? super String> comparator;
+  private final C[] columns;
+  private final int hash;
+
+  /**
+   * Creates a new tuple.
+   *
+   * @param  comparator  the comparator used when both values of a column are {@link String},
+   *                     generally {@link Model#getComparator()}, or <code>null</code> for natural ordering
+   * @param  columns     a defensive copy is made
+   */
+  @SafeVarargs
+  @SuppressWarnings("varargs")
+  public DefaultTupleN(Comparator<? super String> comparator, C ... columns) {
+    this.comparator = comparator;
+    this.columns = columns.clone();
+    this.hash = Arrays.hashCode(this.columns);
+  }
+
+  /**
+   * {@inheritDoc}
+   *
+   * @return  a defensive copy
+   */
+  @Override
+  public C[] getColumns() {
+    return columns.clone();
+  }
+
+  @Override
+  public int getColumnCount() {
+    return columns.length;
+  }
+
+  @Override
+  public C getColumn(int index) {
+    return columns[index];
+  }
+
+  @Override
+  public String toString() {
+    StringBuilder toString = new StringBuilder().append('(');
+    for (int i = 0; i < columns.length; i++) {
+      if (i != 0) {
+        toString.append(',');
+      }
+      toString.append(columns[i]);
+    }
+    return toString.append(')').toString();
+  }
+
+  @Override
+  public boolean equals(Object obj) {
+    if (this == obj) {
+      return true;
+    }
+    if (!(obj instanceof DefaultTupleN)) {
+      return false;
+    }
+    DefaultTupleN<?> other = (DefaultTupleN<?>) obj;
+    return hash == other.hash && Arrays.equals(columns, other.columns);
+  }
+
+  @Override
+  public int hashCode() {
+    return hash;
+  }
+
+  @Override
+  public int compareTo(DefaultTupleN<C> o) {
+    C[] otherColumns = o.columns;
+    int len = Math.min(columns.length, otherColumns.length);
+    for (int i = 0; i < len; i++) {
+      int diff = Tuples.compareColumn(comparator, columns[i], otherColumns[i]);
+      if (diff != 0) {
+        return diff;
+      }
+    }
+    return Integer.compare(columns.length, otherColumns.length);
+  }
+}
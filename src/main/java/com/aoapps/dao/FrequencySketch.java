@@ -0,0 +1,101 @@
+/*
+ * ao-dao-api - Simple data access objects framework API.
+ * Copyright (C) 2026  AO Industries, Inc.
+ *     support@aoindustries.com
+ *     7262 Bull Pen Cir
+ *     Mobile, AL 36695
+ *
+ * This file is part of ao-dao-api.
+ *
+ * ao-dao-api is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * ao-dao-api is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with ao-dao-api.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package com.aoapps.dao;
+
+/**
+ * A count-min sketch of 4-bit counters estimating how often each key has been accessed recently, for the admission
+ * policy of {@link BoundedCache}.  All counters are halved periodically so that old accesses are forgotten.
+ *
+ * <p>This class is not thread-safe.</p>
+ */
+final class FrequencySketch {
+
+  private static final int MIN_TABLE_LENGTH = 64;
+  private static final int MAX_TABLE_LENGTH = 1 << 26;
+  private static final long RESET_MASK = 0x7777777777777777L;
+  private static final int[] SEEDS = {0x97cb3127, 0xb1ad0c4d, 0x8b7c8ee7, 0xc2b2ae35};
+
+  private long[] table = new long[MIN_TABLE_LENGTH];
+  private int additions;
+
+  /**
+   * Grows to track about the given number of keys, keeping all counts when resized.
+   */
+  void ensureCapacity(int keys) {
+    int length = table.length;
+    if (keys > length && length < MAX_TABLE_LENGTH) {
+      long[] newTable = new long[Math.min(Integer.highestOneBit(keys - 1) << 1, MAX_TABLE_LENGTH)];
+      // The counters of a key move from index i to one of i + n * length, so copying each to all of them keeps the
+      // estimate of every key unchanged
+      for (int i = 0; i < newTable.length; i += length) {
+        System.arraycopy(table, 0, newTable, i, length);
+      }
+      table = newTable;
+    }
+  }
+
+  private static int rehash(int hash, int i) {
+    int h = (hash + SEEDS[i]) * SEEDS[i];
+    return h ^ (h >>> 16);
+  }
+
+  /**
+   * Gets the estimated number of recent accesses, from zero to fifteen.
+   */
+  int frequency(Object key) {
+    int hash = key.hashCode();
+    int mask = table.length - 1;
+    int frequency = 15;
+    for (int i = 0; i < SEEDS.length; i++) {
+      int h = rehash(hash, i);
+      int shift = (h >>> 28) << 2;
+      frequency = Math.min(frequency, (int) ((table[h & mask] >>> shift) & 0xF));
+    }
+    return frequency;
+  }
+
+  /**
+   * Records one access.
+   */
+  void increment(Object key) {
+    int hash = key.hashCode();
+    int mask = table.length - 1;
+    boolean added = false;
+    for (int i = 0; i < SEEDS.length; i++) {
+      int h = rehash(hash, i);
+      int index = h & mask;
+      int shift = (h >>> 28) << 2;
+      if (((table[index] >>> shift) & 0xF) != 0xF) {
+        table[index] += 1L << shift;
+        added = true;
+      }
+    }
+    if (added && ++additions >= table.length * 10) {
+      for (int i = 0; i < table.length; i++) {
+        table[i] = (table[i] >>> 1) & RESET_MASK;
+      }
+      additions >>>= 1;
+    }
+  }
+}
@@ -0,0 +1,349 @@
+/*
+ * ao-dao-api - Simple data access objects framework API.
+ * Copyright (C) 2026  AO Industries, Inc.
+ *     support@aoindustries.com
+ *     7262 Bull Pen Cir
+ *     Mobile, AL 36695
+ *
+ * This file is part of ao-dao-api.
+ *
+ * ao-dao-api is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * ao-dao-api is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with ao-dao-api.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package com.aoapps.dao;
+
+import com.aoapps.lang.concurrent.CallableE;
+import java.sql.SQLException;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.IdentityHashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * A model of {@link InMemoryTable}, suitable as a fast test double or as a read-mostly cache in front of a database.
+ *
+ * <p>The snapshots of all tables are held together in a single {@link VersionedSnapshot}, so reads are lock-free
+ * and every commit publishes the new snapshots of all modified tables in one atomic step.  Transactions are
+ * serialized by a single lock, and each table modified in a transaction stages its own private version of the rows,
+ * sharing structure with the committed version instead of copying it.  On rollback, the staged versions are
+ * discarded.  Snapshots already handed out are never modified.</p>
+ *
+ * <p>A thread may {@linkplain InMemoryModel#pinSnapshots() pin} the current version of every table, giving
+ * repeatable, mutually consistent reads across all tables until
+ * {@linkplain InMemoryModel#unpinSnapshots() unpinned} or the end of the caching session by
+ * {@link InMemoryModel#clearAllCaches()}.</p>
+ */
+public class InMemoryModel implements Model {
+
+  /**
+   * The changes of one transaction, visible only to the thread running the transaction.
+   */
+  static final class Transaction {
+
+    private final Map<InMemoryTable<?, ?>, InMemoryTable.Staged<?, ?>> staged = new IdentityHashMap<>();
+
+    /**
+     * Gets the staged changes for the given table.
+     *
+     * @return  the staged changes or <code>null</code> when the table has not been modified in this transaction
+     */
+    @SuppressWarnings("unchecked")
+    <K extends Comparable<? super K>, R extends Row<K, ?> & Comparable<? super R>> InMemoryTable.Staged<K, R> get(InMemoryTable<K, R> table) {
+      return (InMemoryTable.Staged<K, R>) staged.get(table);
+    }
+
+    /**
+     * Gets the staged changes for the given table, starting from its committed rows on first modification.
+     */
+    <K extends Comparable<? super K>, R extends Row<K, ?> & Comparable<? super R>> InMemoryTable.Staged<K, R> stage(InMemoryTable<K, R> table) {
+      InMemoryTable.Staged<K, R> tableStaged = get(table);
+      if (tableStaged == null) {
+        tableStaged = table.newStaged();
+        staged.put(table, tableStaged);
+      }
+      return tableStaged;
+    }
+  }
+
+  /**
+   * The per-thread state of a model, present only while in a transaction or with pinned snapshots.
+   */
+  static final class ThreadContext {
+
+    private Transaction transaction;
+    private VersionedSnapshot.Version<InMemoryTable.Snapshot<?, ?>[]> pinned;
+
+    /**
+     * Gets the transaction of this thread.
+     *
+     * @return  the transaction or <code>null</code> when not in a transaction
+     */
+    Transaction getTransaction() {
+      return transaction;
+    }
+
+    /**
+     * Gets the snapshots pinned by this thread.
+     *
+     * @return  the snapshots or <code>null</code> when not pinned
+     */
+    InMemoryTable.Snapshot<?, ?>[] getPinned() {
+      return pinned == null ? null : pinned.getSnapshot();
+    }
+  }
+
+  private final String name;
+  private final Comparator<? super String> comparator;
+  private final ModelMetrics metrics;
+  private final ConcurrentMap<String, InMemoryTable<?, ?>> tables;
+  private final Map<String, InMemoryTable<?, ?>> unmodifiableTables;
+
+  /**
+   * The committed snapshot of every table, indexed by {@link InMemoryTable#getIndex()}.
+   */
+  private final VersionedSnapshot<InMemoryTable.Snapshot<?, ?>[]> state = new VersionedSnapshot<>(new InMemoryTable.Snapshot<?, ?>[0]);
+
+  private final ReentrantLock transactionLock = new ReentrantLock();
+  private final ThreadLocal<ThreadContext> threadContext = new ThreadLocal<>();
+
+  /**
+   * The number of threads with a {@link ThreadContext}, used to skip the thread-local lookup on reads when zero.
+   */
+  private final AtomicInteger contextThreads = new AtomicInteger();
+
+  /**
+   * Creates a new, empty model.
+   *
+   * @param  metrics  the metrics to record or <code>null</code> for no instrumentation
+   */
+  public InMemoryModel(String name, Comparator<? super String> comparator, ModelMetrics metrics) {
+    this.name = name;
+    this.comparator = comparator;
+    this.metrics = metrics;
+    this.tables = new ConcurrentSkipListMap<>(comparator);
+    this.unmodifiableTables = Collections.unmodifiableMap(tables);
+  }
+
+  /**
+   * Creates a new, empty model without instrumentation.
+   */
+  public InMemoryModel(String name, Comparator<? super String> comparator) {
+    this(name, comparator, null);
+  }
+
+  /**
+   * Creates a new, empty model without instrumentation, comparing strings by their natural ordering.
+   */
+  public InMemoryModel(String name) {
+    this(name, Comparator.naturalOrder());
+  }
+
+  @Override
+  public String getName() {
+    return name;
+  }
+
+  @Override
+  public Comparator<? super String> getComparator() {
+    return comparator;
+  }
+
+  @Override
+  public ModelMetrics getMetrics() {
+    return metrics;
+  }
+
+  /**
+   * {@inheritDoc}
+   *
+   * @return  an unmodifiable view, sorted by {@link InMemoryModel#getComparator()}
+   */
+  @Override
+  @SuppressWarnings("ReturnOfCollectionOrArrayField") // Unmodifiable wrapper
+  public Map<String, ? extends InMemoryTable<?, ?>> getTables() {
+    return unmodifiableTables;
+  }
+
+  /**
+   * Adds a table, with an initial empty snapshot.  Called by the {@link InMemoryTable} constructor.
+   *
+   * @return  the index of the table's snapshot in the model state
+   *
+   * @throws  IllegalArgumentException  when a table of the same name already exists
+   */
+  int addTable(String tableName, InMemoryTable<?, ?> table, InMemoryTable.Snapshot<?, ?> empty) {
+    if (tables.putIfAbsent(tableName, table) != null) {
+      throw new IllegalArgumentException("Table already exists: " + tableName);
+    }
+    return state.update(snapshots -> {
+      InMemoryTable.Snapshot<?, ?>[] newSnapshots = Arrays.copyOf(snapshots, snapshots.length + 1);
+      newSnapshots[snapshots.length] = empty;
+      return newSnapshots;
+    }).getSnapshot().length - 1;
+  }
+
+  /**
+   * Gets the committed snapshot of every table.
+   */
+  final InMemoryTable.Snapshot<?, ?>[] getCommitted() {
+    return state.get();
+  }
+
+  /**
+   * Gets the context of the current thread.
+   *
+   * @return  the context or <code>null</code> when not in a transaction and not pinned
+   */
+  final ThreadContext getThreadContext() {
+    return contextThreads.get() == 0 ? null : threadContext.get();
+  }
+
+  private ThreadContext enterThreadContext() {
+    ThreadContext context = threadContext.get();
+    if (context == null) {
+      context = new ThreadContext();
+      threadContext.set(context);
+      contextThreads.incrementAndGet();
+    }
+    return context;
+  }
+
+  private void exitThreadContext(ThreadContext context) {
+    if (context.transaction == null && context.pinned == null) {
+      threadContext.remove();
+      contextThreads.decrementAndGet();
+    }
+  }
+
+  /**
+   * Pins the current committed version of every table for the current thread.  Until unpinned, reads outside of a
+   * transaction see these versions, even as other threads commit, giving repeatable-read consistency across all
+   * tables without locking.  Reads within a transaction always see the latest committed versions.
+   *
+   * <p>When already pinned, keeps the existing pin.</p>
+   *
+   * @return  the number of the version pinned
+   */
+  public long pinSnapshots() {
+    ThreadContext context = enterThreadContext();
+    if (context.pinned == null) {
+      context.pinned = state.getVersion();
+    }
+    return context.pinned.getNumber();
+  }
+
+  /**
+   * Unpins the versions pinned by {@link InMemoryModel#pinSnapshots()} for the current thread.
+   */
+  public void unpinSnapshots() {
+    ThreadContext context = threadContext.get();
+    if (context != null && context.pinned != null) {
+      context.pinned = null;
+      exitThreadContext(context);
+    }
+  }
+
+  /**
+   * {@inheritDoc}
+   *
+   * <p>Also ends any {@linkplain InMemoryModel#pinSnapshots() pin} by the current thread.</p>
+   */
+  @Override
+  public void clearAllCaches() {
+    Model.super.clearAllCaches();
+    unpinSnapshots();
+  }
+
+  /**
+   * {@inheritDoc}
+   *
+   * <p>Transactions are serialized, and a nested call joins the transaction already in progress on the current
+   * thread.  Within a transaction, the current thread sees its own changes, while all other threads continue to see
+   * the last committed snapshots.</p>
+   */
+  @Override
+  public <V, Ex extends Throwable> V transactionCall(Class<? extends Ex> exClass, CallableE<? extends V, ? extends Ex> callable) throws SQLException, Ex {
+    ThreadContext context = threadContext.get();
+    if (context != null && context.transaction != null) {
+      return callable.call();
+    }
+    long startNanos = metrics == null ? 0 : System.nanoTime();
+    transactionLock.lock();
+    try {
+      Transaction transaction = new Transaction();
+      context = enterThreadContext();
+      context.transaction = transaction;
+      try {
+        V result = callable.call();
+        commit(transaction);
+        return result;
+      } finally {
+        context.transaction = null;
+        exitThreadContext(context);
+      }
+    } finally {
+      transactionLock.unlock();
+      if (metrics != null) {
+        metrics.transactions().recordSince(startNanos);
+      }
+    }
+  }
+
+  /**
+   * {@inheritDoc}
+   *
+   * <p>This implementation {@linkplain InMemoryModel#pinSnapshots() pins} the current version of every table for the
+   * duration of the call, without any lock.  Within a transaction, or when already pinned, the call is made
+   * directly, seeing the transaction or existing pin.</p>
+   */
+  @Override
+  public <V, Ex extends Throwable> V readCall(Class<? extends Ex> exClass, CallableE<? extends V, ? extends Ex> callable) throws SQLException, Ex {
+    ThreadContext context = threadContext.get();
+    if (context != null && (context.transaction != null || context.pinned != null)) {
+      return callable.call();
+    }
+    pinSnapshots();
+    try {
+      return callable.call();
+    } finally {
+      unpinSnapshots();
+    }
+  }
+
+  private void commit(Transaction transaction) {
+    if (transaction.staged.isEmpty()) {
+      return;
+    }
+    // Commits are serialized by the transaction lock, so no other commit can occur between
+    InMemoryTable.Snapshot<?, ?>[] previous = state.get();
+    state.update(snapshots -> {
+      InMemoryTable.Snapshot<?, ?>[] newSnapshots = snapshots.clone();
+      for (InMemoryTable.Staged<?, ?> tableStaged : transaction.staged.values()) {
+        newSnapshots[tableStaged.getTable().getIndex()] = tableStaged.getSnapshot();
+      }
+      return newSnapshots;
+    });
+    for (InMemoryTable.Staged<?, ?> tableStaged : transaction.staged.values()) {
+      InMemoryTable.publishChanges(tableStaged, previous);
+    }
+    for (InMemoryTable<?, ?> table : transaction.staged.keySet()) {
+      table.tableUpdated();
+    }
+  }
+}
@@ -0,0 +1,564 @@
+/*
+ * ao-dao-api - Simple data access objects framework API.
+ * Copyright (C) 2026  AO Industries, Inc.
+ *     support@aoindustries.com
+ *     7262 Bull Pen Cir
+ *     Mobile, AL 36695
+ *
+ * This file is part of ao-dao-api.
+ *
+ * ao-dao-api is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * ao-dao-api is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with ao-dao-api.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package com.aoapps.dao;
+
+import com.aoapps.dbc.NoRowException;
+import java.io.IOException;
+import java.nio.file.Path;
+import java.sql.SQLException;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.SortedMap;
+import java.util.SortedSet;
+import java.util.TreeMap;
+import java.util.TreeSet;
+
+/**
+ * A table held entirely in memory as a series of immutable snapshots.  Each snapshot is a persistent hash trie
+ * sharing structure with the previous, so modifying a row creates a new snapshot without copying the table.
+ *
+ * <p>Every read is served from the current snapshot of the {@link InMemoryModel} without locking.  Modifications
+ * are made within {@link Model#transactionCall(java.lang.Class, com.aoapps.lang.concurrent.CallableE)}, or in their
+ * own transaction when called outside of one, and are published as a new snapshot on commit.</p>
+ *
+ * <p>Rows are indexed by the {@linkplain Table#canonicalize(java.lang.Comparable) canonical form} of their keys.</p>
+ */
+public class InMemoryTable<
+    K extends Comparable<? super K>,
+    R extends Row<K, ?> & Comparable<? super R>
+    > implements Table<K, R> {
+
+  /**
+   * One immutable version of the rows.  The other views are built on first use, once per version, so reading them
+   * after each modification costs a full pass over the rows.
+   */
+  static final class Snapshot<K, R> {
+
+    private final PersistentHashMap<K, R> map;
+
+    // Racy single-check: each is an unmodifiable wrapper of a fully built collection, safely published through the
+    // final field of the wrapper, so building one twice concurrently is harmless.
+    private SortedMap<K, R> sortedMap;
+    private Set<R> unsortedRows;
+    private SortedSet<R> rows;
+
+    Snapshot(PersistentHashMap<K, R> map) {
+      this.map = map;
+    }
+
+    @SuppressWarnings("ReturnOfCollectionOrArrayField") // Immutable
+    PersistentHashMap<K, R> getMap() {
+      return map;
+    }
+
+    SortedMap<K, R> getSortedMap() {
+      SortedMap<K, R> s = sortedMap;
+      if (s == null) {
+        s = Collections.unmodifiableSortedMap(new TreeMap<>(map));
+        sortedMap = s;
+      }
+      return s;
+    }
+
+    Set<R> getUnsortedRows() {
+      Set<R> s = unsortedRows;
+      if (s == null) {
+        s = Collections.unmodifiableSet(new HashSet<>(map.values()));
+        unsortedRows = s;
+      }
+      return s;
+    }
+
+    SortedSet<R> getRows() {
+      SortedSet<R> s = rows;
+      if (s == null) {
+        s = Collections.unmodifiableSortedSet(new TreeSet<>(map.values()));
+        rows = s;
+      }
+      return s;
+    }
+  }
+
+  /**
+   * The uncommitted rows of a table within one transaction.
+   */
+  static final class Staged<
+      K extends Comparable<? super K>,
+      R extends Row<K, ?> & Comparable<? super R>
+      > {
+
+    private final InMemoryTable<K, R> table;
+    private PersistentHashMap<K, R> rows;
+    private Snapshot<K, R> snapshot;
+
+    // The keys possibly changed, for the change feed
+    private final Set<K> modifiedKeys = new HashSet<>();
+    private boolean modifiedAll;
+
+    private Staged(InMemoryTable<K, R> table, Snapshot<K, R> committed) {
+      this.table = table;
+      this.rows = committed.getMap();
+      this.snapshot = committed;
+    }
+
+    InMemoryTable<K, R> getTable() {
+      return table;
+    }
+
+    /**
+     * Gets the uncommitted rows.
+     */
+    PersistentHashMap<K, R> getRows() {
+      return rows;
+    }
+
+    /**
+     * Gets a snapshot of the uncommitted rows, for reads by the thread in the transaction.
+     * This snapshot is not affected by subsequent modifications, and is reused until the next modification.
+     */
+    Snapshot<K, R> getSnapshot() {
+      Snapshot<K, R> s = snapshot;
+      if (s == null) {
+        s = new Snapshot<>(rows);
+        snapshot = s;
+      }
+      return s;
+    }
+
+    /**
+     * Sets the row for the given key.
+     */
+    void put(K key, R row) {
+      PersistentHashMap<K, R> newRows = rows.plus(key, row);
+      if (newRows != rows) {
+        rows = newRows;
+        snapshot = null;
+        if (!modifiedAll) {
+          modifiedKeys.add(key);
+        }
+      }
+    }
+
+    /**
+     * Removes the row for the given key.
+     *
+     * @return  the row removed or <code>null</code> when none
+     */
+    R remove(K key) {
+      R row = rows.get(key);
+      if (row != null) {
+        rows = rows.minus(key);
+        snapshot = null;
+        if (!modifiedAll) {
+          modifiedKeys.add(key);
+        }
+      }
+      return row;
+    }
+
+    /**
+     * Replaces all rows.
+     */
+    void replaceAll(PersistentHashMap<K, R> newRows) {
+      rows = newRows;
+      snapshot = null;
+      modifiedAll = true;
+      modifiedKeys.clear();
+    }
+  }
+
+  private final InMemoryModel model;
+  private final String name;
+  private final TableMetrics metrics;
+  private final ChangeFeed<K> changeFeed = new ChangeFeed<>();
+  private final int index;
+
+  /**
+   * Creates a new, empty table and adds it to the model.
+   *
+   * @throws  IllegalArgumentException  when the model already has a table of the same name
+   */
+  @SuppressWarnings("LeakingThisInConstructor")
+  public InMemoryTable(InMemoryModel model, String name) {
+    this.model = model;
+    this.name = name;
+    ModelMetrics modelMetrics = model.getMetrics();
+    this.metrics = modelMetrics == null ? null : modelMetrics.getTable(name);
+    this.index = model.addTable(name, this, new Snapshot<>(PersistentHashMap.empty()));
+  }
+
+  /**
+   * Gets the index of this table's snapshot in the model state.
+   */
+  final int getIndex() {
+    return index;
+  }
+
+  @Override
+  public InMemoryModel getModel() {
+    return model;
+  }
+
+  @Override
+  public String getName() {
+    return name;
+  }
+
+  @Override
+  public TableMetrics getMetrics() {
+    return metrics;
+  }
+
+  /**
+   * {@inheritDoc}
+   *
+   * <p>Changes are published when their transaction is committed, and never for a transaction rolled back.</p>
+   */
+  @Override
+  @SuppressWarnings("ReturnOfCollectionOrArrayField")
+  public ChangeFeed<K> getChangeFeed() {
+    return changeFeed;
+  }
+
+  /**
+   * Gets the snapshot visible to the current thread: its uncommitted changes when in a transaction that modified
+   * this table, its pinned snapshot when pinned and not in a transaction, otherwise the last committed snapshot.
+   */
+  @SuppressWarnings("unchecked")
+  Snapshot<K, R> getSnapshot() {
+    InMemoryModel.ThreadContext context = model.getThreadContext();
+    if (context != null) {
+      InMemoryModel.Transaction transaction = context.getTransaction();
+      if (transaction != null) {
+        Staged<K, R> staged = transaction.get(this);
+        if (staged != null) {
+          return staged.getSnapshot();
+        }
+      } else {
+        Snapshot<?, ?>[] pinned = context.getPinned();
+        if (pinned != null && index < pinned.length) {
+          return (Snapshot<K, R>) pinned[index];
+        }
+      }
+    }
+    return (Snapshot<K, R>) model.getCommitted()[index];
+  }
+
+  /**
+   * Creates the staged changes for this table, starting from the last committed snapshot without copying it.
+   */
+  @SuppressWarnings("unchecked")
+  Staged<K, R> newStaged() {
+    return new Staged<>(this, (Snapshot<K, R>) model.getCommitted()[index]);
+  }
+
+  /**
+   * Publishes the changes of a committed transaction to the change feed of its table.  A row replaced by a different
+   * instance is published as updated, even when equal.
+   *
+   * @param  previous  the snapshots of every table before the commit
+   */
+  static <
+      K extends Comparable<? super K>,
+      R extends Row<K, ?> & Comparable<? super R>
+      > void publishChanges(Staged<K, R> staged, Snapshot<?, ?>[] previous) {
+    InMemoryTable<K, R> table = staged.table;
+    @SuppressWarnings("unchecked")
+    Map<K, R> oldRows = table.index < previous.length
+        ? ((Snapshot<K, R>) previous[table.index]).getMap()
+        : Collections.emptyMap();
+    Map<K, R> newRows = staged.getRows();
+    Set<K> keys;
+    if (staged.modifiedAll) {
+      keys = new LinkedHashSet<>(oldRows.keySet());
+      keys.addAll(newRows.keySet());
+    } else {
+      keys = staged.modifiedKeys;
+    }
+    ChangeFeed<K> feed = table.changeFeed;
+    for (K key : keys) {
+      R oldRow = oldRows.get(key);
+      R newRow = newRows.get(key);
+      if (oldRow == null) {
+        if (newRow != null) {
+          feed.publish(ChangeFeed.Type.INSERT, key);
+        }
+      } else if (newRow == null) {
+        feed.publish(ChangeFeed.Type.REMOVE, key);
+      } else if (oldRow != newRow) {
+        feed.publish(ChangeFeed.Type.UPDATE, key);
+      }
+    }
+  }
+
+  /**
+   * {@inheritDoc}
+   *
+   * <p>The contents of this table only change by its own modification methods, so there is nothing to reload, and
+   * the {@linkplain InMemoryTable#getChangeFeed() change feed} is not reset.</p>
+   */
+  @Override
+  public void tableUpdated() {
+    Table.super.tableUpdated();
+    if (metrics != null) {
+      metrics.recordTableUpdated();
+    }
+  }
+
+  @Override
+  public Map<K, R> getMap() {
+    return getSnapshot().getMap();
+  }
+
+  @Override
+  public SortedMap<K, R> getSortedMap() {
+    return getSnapshot().getSortedMap();
+  }
+
+  @Override
+  public Set<R> getUnsortedRows() {
+    return getSnapshot().getUnsortedRows();
+  }
+
+  @Override
+  public SortedSet<R> getRows() {
+    return getSnapshot().getRows();
+  }
+
+  @Override
+  public int getSize() {
+    return getSnapshot().getMap().size();
+  }
+
+  /**
+   * {@inheritDoc}
+   *
+   * <p>This implementation looks up by the key of the row instead of scanning all rows.</p>
+   */
+  @Override
+  @SuppressWarnings("unchecked")
+  public boolean contains(Object o) {
+    if (!(o instanceof Row)) {
+      return false;
+    }
+    K key;
+    try {
+      key = canonicalize(((Row<K, ?>) o).getKey());
+    } catch (ClassCastException e) {
+      return false;
+    }
+    R row = getSnapshot().getMap().get(key);
+    return row != null && row.equals(o);
+  }
+
+  private R get(Snapshot<K, R> s, K key) throws NoRowException {
+    R row = s.getMap().get(canonicalize(key));
+    if (row == null) {
+      throw new NoRowException(name + " not found: " + key);
+    }
+    return row;
+  }
+
+  @Override
+  public R get(K key) throws NoRowException {
+    long startNanos = metrics == null ? 0 : System.nanoTime();
+    try {
+      R row = get(getSnapshot(), key);
+      if (metrics != null) {
+        metrics.recordCacheHit();
+      }
+      return row;
+    } catch (NoRowException e) {
+      if (metrics != null) {
+        metrics.recordCacheMiss();
+      }
+      throw e;
+    } finally {
+      if (metrics != null) {
+        metrics.get().recordSince(startNanos);
+      }
+    }
+  }
+
+  /**
+   * {@inheritDoc}
+   *
+   * <p>All rows are looked-up from the same snapshot.</p>
+   */
+  @Override
+  public Set<R> getOrderedRows(Iterable<? extends K> keys) throws NoRowException {
+    long startNanos = metrics == null ? 0 : System.nanoTime();
+    try {
+      Iterator<? extends K> iter = keys.iterator();
+      if (!iter.hasNext()) {
+        return Collections.emptySet();
+      }
+      Snapshot<K, R> s = getSnapshot();
+      Set<R> results = new LinkedHashSet<>();
+      do {
+        results.add(get(s, iter.next()));
+      } while (iter.hasNext());
+      return Collections.unmodifiableSet(results);
+    } finally {
+      if (metrics != null) {
+        metrics.getOrderedRows().recordSince(startNanos);
+      }
+    }
+  }
+
+  /**
+   * {@inheritDoc}
+   *
+   * <p>All rows are looked-up from the same snapshot.</p>
+   */
+  @Override
+  public SortedSet<R> getRows(Iterable<? extends K> keys) throws NoRowException {
+    long startNanos = metrics == null ? 0 : System.nanoTime();
+    try {
+      Iterator<? extends K> iter = keys.iterator();
+      if (!iter.hasNext()) {
+        return Collections.emptySortedSet();
+      }
+      Snapshot<K, R> s = getSnapshot();
+      SortedSet<R> results = new TreeSet<>();
+      do {
+        results.add(get(s, iter.next()));
+      } while (iter.hasNext());
+      return Collections.unmodifiableSortedSet(results);
+    } finally {
+      if (metrics != null) {
+        metrics.getRows().recordSince(startNanos);
+      }
+    }
+  }
+
+  private Staged<K, R> stage() {
+    return model.getThreadContext().getTransaction().stage(this);
+  }
+
+  /**
+   * Adds a new row.
+   *
+   * @throws  SQLException  with SQLSTATE <code>23505</code> when a row with the same key already exists
+   */
+  public void insert(R row) throws SQLException {
+    model.transactionRun(() -> {
+      K key = canonicalize(row.getKey());
+      Staged<K, R> staged = stage();
+      if (staged.getRows().containsKey(key)) {
+        throw new SQLException(name + " already has key: " + key, "23505");
+      }
+      staged.put(key, row);
+    });
+  }
+
+  /**
+   * Replaces an existing row having the same key.
+   *
+   * @throws  NoRowException  when no row has the same key
+   */
+  public void update(R row) throws NoRowException, SQLException {
+    model.transactionRun(() -> {
+      K key = canonicalize(row.getKey());
+      Staged<K, R> staged = stage();
+      if (!staged.getRows().containsKey(key)) {
+        throw new NoRowException(name + " not found: " + key);
+      }
+      staged.put(key, row);
+    });
+  }
+
+  /**
+   * Adds a new row or replaces an existing row having the same key.
+   */
+  public void put(R row) throws SQLException {
+    model.transactionRun(() -> {
+      K key = canonicalize(row.getKey());
+      stage().put(key, row);
+    });
+  }
+
+  /**
+   * Removes the row with the given key.
+   *
+   * @throws  NoRowException  when no row has the key
+   */
+  public void delete(K key) throws NoRowException, SQLException {
+    model.transactionRun(() -> {
+      K canonicalKey = canonicalize(key);
+      if (stage().remove(canonicalKey) == null) {
+        throw new NoRowException(name + " not found: " + key);
+      }
+    });
+  }
+
+  /**
+   * Replaces all rows in this table, such as when loading or reloading from another source.
+   *
+   * @throws  SQLException  with SQLSTATE <code>23505</code> when more than one row has the same key
+   */
+  public void replaceAll(Collection<? extends R> rows) throws SQLException {
+    model.transactionRun(() -> {
+      PersistentHashMap<K, R> newRows = PersistentHashMap.empty();
+      for (R row : rows) {
+        K key = canonicalize(row.getKey());
+        if (newRows.containsKey(key)) {
+          throw new SQLException(name + " already has key: " + key, "23505");
+        }
+        newRows = newRows.plus(key, row);
+      }
+      stage().replaceAll(newRows);
+    });
+  }
+
+  /**
+   * Replaces all rows in this table with those of a {@link SnapshotFile}.
+   *
+   * @return  the number of rows loaded
+   *
+   * @see  InMemoryTable#saveSnapshot(java.nio.file.Path, com.aoapps.dao.RowCodec)
+   */
+  public int loadSnapshot(Path file, RowCodec<K, R> codec) throws IOException, SQLException {
+    List<R> rows = SnapshotFile.read(file, codec);
+    replaceAll(rows);
+    return rows.size();
+  }
+
+  /**
+   * Writes the rows visible to the current thread to a {@link SnapshotFile}.
+   *
+   * @return  the number of rows written
+   *
+   * @see  InMemoryTable#loadSnapshot(java.nio.file.Path, com.aoapps.dao.RowCodec)
+   */
+  public int saveSnapshot(Path file, RowCodec<K, R> codec) throws IOException {
+    return SnapshotFile.write(file, getUnsortedRows(), codec);
+  }
+}
@@ -0,0 +1,133 @@
+/*
+ * ao-dao-api - Simple data access objects framework API.
+ * Copyright (C) 2026  AO Industries, Inc.
+ *     support@aoindustries.com
+ *     7262 Bull Pen Cir
+ *     Mobile, AL 36695
+ *
+ * This file is part of ao-dao-api.
+ *
+ * ao-dao-api is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * ao-dao-api is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with ao-dao-api.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package com.aoapps.dao;
+
+import java.sql.SQLException;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * One column of a group of rows, loaded for many rows at once on first access of any of them.
+ *
+ * <p>Each row of the group is {@linkplain LazyColumn#add(java.lang.Object) added} when created, such as by a
+ * {@link Projection}, then calls {@link LazyColumn#get(java.lang.Object)} when its value is needed.  The first
+ * access loads the values of up to a batch of rows not yet loaded, so iterating all the rows of one snapshot loads
+ * the column in a few batches instead of once per row.</p>
+ *
+ * <p>This class is thread-safe.  Threads needing a value being loaded wait for the batch.</p>
+ *
+ * @param  <K>  the type of key
+ * @param  <V>  the type of value
+ */
+public final class LazyColumn<K, V> {
+
+  /**
+   * Loads the values of one batch of rows, such as with a single query.
+   */
+  @FunctionalInterface
+  public static interface Loader<K, V> {
+
+    /**
+     * Loads the values of the given rows.
+     *
+     * @param  keys  the keys of the rows, unmodifiable
+     *
+     * @return  the values by key, with missing keys having a value of <code>null</code>
+     */
+    Map<? extends K, ? extends V> load(Set<K> keys) throws SQLException;
+  }
+
+  /**
+   * The default maximum number of rows loaded at once.
+   */
+  public static final int DEFAULT_BATCH_SIZE = 1000;
+
+  private final Loader<K, V> loader;
+  private final int batchSize;
+  private final Map<K, V> values = new HashMap<>();
+  private final Set<K> pending = new LinkedHashSet<>();
+
+  /**
+   * @param  batchSize  the maximum number of rows loaded at once
+   */
+  public LazyColumn(Loader<K, V> loader, int batchSize) {
+    if (batchSize <= 0) {
+      throw new IllegalArgumentException("batchSize <= 0: " + batchSize);
+    }
+    this.loader = loader;
+    this.batchSize = batchSize;
+  }
+
+  /**
+   * Uses batches of {@link LazyColumn#DEFAULT_BATCH_SIZE}.
+   */
+  public LazyColumn(Loader<K, V> loader) {
+    this(loader, DEFAULT_BATCH_SIZE);
+  }
+
+  /**
+   * Adds a row to the group, to be loaded in the same batch as other rows.
+   */
+  public synchronized void add(K key) {
+    if (!values.containsKey(key)) {
+      pending.add(key);
+    }
+  }
+
+  /**
+   * Checks if the value of a row has been loaded.
+   */
+  public synchronized boolean isLoaded(K key) {
+    return values.containsKey(key);
+  }
+
+  /**
+   * Gets the value of a row, loading it along with the next batch of rows not yet loaded.
+   * A row not {@linkplain LazyColumn#add(java.lang.Object) added} is loaded as well.
+   *
+   * @return  the value, which may be <code>null</code>
+   */
+  public synchronized V get(K key) throws SQLException {
+    V value = values.get(key);
+    if (value != null || values.containsKey(key)) {
+      return value;
+    }
+    Set<K> batch = new LinkedHashSet<>();
+    batch.add(key);
+    Iterator<K> iter = pending.iterator();
+    while (batch.size() < batchSize && iter.hasNext()) {
+      batch.add(iter.next());
+    }
+    Map<? extends K, ? extends V> loaded = loader.load(Collections.unmodifiableSet(batch));
+    for (K k : batch) {
+      values.put(k, loaded.get(k));
+    }
+    pending.removeAll(batch);
+    return values.get(key);
+  }
+}
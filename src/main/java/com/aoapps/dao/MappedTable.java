@@ -0,0 +1,760 @@
+/*
+ * ao-dao-api - Simple data access objects framework API.
+ * Copyright (C) 2026  AO Industries, Inc.
+ *     support@aoindustries.com
+ *     7262 Bull Pen Cir
+ *     Mobile, AL 36695
+ *
+ * This file is part of ao-dao-api.
+ *
+ * ao-dao-api is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * ao-dao-api is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with ao-dao-api.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package com.aoapps.dao;
+
+import com.aoapps.dbc.NoRowException;
+import com.aoapps.lang.concurrent.CallableE;
+import com.aoapps.lang.exception.WrappedException;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.SQLException;
+import java.util.AbstractMap;
+import java.util.AbstractSet;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Set;
+import java.util.SortedMap;
+import java.util.SortedSet;
+import java.util.TreeSet;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * A large, rarely changing table served from a memory-mapped {@link SnapshotFile} instead of the heap.
+ *
+ * <p>The rows are loaded from their source, such as the database, and written to the file on first use and again
+ * after each {@link MappedTable#tableUpdated()}.  When the file already exists on first use and was written at the
+ * current version of the source, it is mapped without loading the rows at all, for a fast restart.  Without a source
+ * version, the file is always rewritten on first use.  Rows are decoded from the mapping on each access and are not
+ * otherwise retained.</p>
+ *
+ * <p>One thread loads at a time, without holding any lock, while other threads needing the rows wait for it to
+ * finish.  The source must not access this table, which is detected and fails instead of recursing.</p>
+ *
+ * <p>{@link MappedTable#get(java.lang.Comparable)} is a binary search of the keys in the mapping.
+ * {@link MappedTable#getMap()}, {@link MappedTable#getSortedMap()}, and {@link MappedTable#getUnsortedRows()} are
+ * unmodifiable views of the mapping.  {@link MappedTable#getRows()} is also a view when the natural ordering of the
+ * rows matches the order of their keys, otherwise it is built on the heap once per mapping.</p>
+ *
+ * <p>Each view is of the mapping current when it was obtained, so remains unchanged after the table is updated.
+ * The keys of the rows must already be in their {@linkplain Table#canonicalize(java.lang.Comparable) canonical form}.
+ * </p>
+ */
+public class MappedTable<
+    K extends Comparable<? super K>,
+    R extends Row<K, ?> & Comparable<? super R>
+    > implements Table<K, R> {
+
+  /**
+   * One mapping of the snapshot file.
+   */
+  private static final class Mapped<
+      K extends Comparable<? super K>,
+      R extends Row<K, ?> & Comparable<? super R>
+      > {
+
+    private final RowCodec<K, R> codec;
+    private final ByteBuffer buffer;
+    private final int indexOffset;
+    private final int count;
+    private final boolean naturalOrder;
+    private final long updateCount;
+
+    private final MappedSortedMap<K, R> sortedMap;
+    private final MappedRowSet<K, R> unsortedRows;
+
+    // Racy single-check: an unmodifiable wrapper of a fully built set, safely published through its final field
+    private SortedSet<R> rows;
+
+    private Mapped(RowCodec<K, R> codec, ByteBuffer buffer, long updateCount) {
+      this.codec = codec;
+      this.buffer = buffer;
+      this.indexOffset = SnapshotFile.getIndexOffset(buffer);
+      this.count = SnapshotFile.getRowCount(buffer);
+      this.naturalOrder = SnapshotFile.isNaturalOrder(buffer);
+      this.updateCount = updateCount;
+      this.sortedMap = new MappedSortedMap<>(this, 0, count);
+      this.unsortedRows = naturalOrder ? new MappedSortedRowSet<>(this, 0, count) : new MappedRowSet<>(this, 0, count);
+    }
+
+    private R decode(int index) {
+      return codec.decode(SnapshotFile.getRow(buffer, indexOffset, index));
+    }
+
+    private K decodeKey(ByteBuffer scratch, int index) {
+      int end = SnapshotFile.getRowOffset(buffer, indexOffset, index + 1);
+      scratch.limit(end).position(SnapshotFile.getRowOffset(buffer, indexOffset, index));
+      return codec.decodeKey(scratch);
+    }
+
+    /**
+     * Searches the keys within a range of rows.
+     *
+     * @return  the index of the key, otherwise <code>(-(insertion point) - 1)</code>
+     */
+    private int search(K key, int from, int to) {
+      ByteBuffer scratch = buffer.asReadOnlyBuffer();
+      int low = from;
+      int high = to - 1;
+      while (low <= high) {
+        int mid = (low + high) >>> 1;
+        int diff = decodeKey(scratch, mid).compareTo(key);
+        if (diff < 0) {
+          low = mid + 1;
+        } else if (diff > 0) {
+          high = mid - 1;
+        } else {
+          return mid;
+        }
+      }
+      return -(low + 1);
+    }
+
+    /**
+     * Finds the first index within a range of rows having a key not less than the given key.
+     */
+    private int lowerBound(K key, int from, int to) {
+      int index = search(key, from, to);
+      return index >= 0 ? index : -(index + 1);
+    }
+
+    private SortedSet<R> getRows() {
+      if (naturalOrder) {
+        return (MappedSortedRowSet<K, R>) unsortedRows;
+      }
+      SortedSet<R> s = rows;
+      if (s == null) {
+        // Added one at a time, since the rows are in key order, not their natural order
+        SortedSet<R> sorted = new TreeSet<>();
+        for (R row : unsortedRows) {
+          sorted.add(row);
+        }
+        s = Collections.unmodifiableSortedSet(sorted);
+        rows = s;
+      }
+      return s;
+    }
+  }
+
+  /**
+   * Iterates a range of rows, decoding each as it is reached.
+   */
+  private abstract static class RangeIterator<E> implements Iterator<E> {
+
+    private final int to;
+    private int next;
+
+    private RangeIterator(int from, int to) {
+      this.next = from;
+      this.to = to;
+    }
+
+    @Override
+    public boolean hasNext() {
+      return next < to;
+    }
+
+    @Override
+    public E next() {
+      if (next >= to) {
+        throw new NoSuchElementException();
+      }
+      return get(next++);
+    }
+
+    abstract E get(int index);
+  }
+
+  /**
+   * An unmodifiable view of a range of rows by key.
+   */
+  private static final class MappedSortedMap<
+      K extends Comparable<? super K>,
+      R extends Row<K, ?> & Comparable<? super R>
+      > extends AbstractMap<K, R> implements SortedMap<K, R> {
+
+    private final Mapped<K, R> mapped;
+    private final int from;
+    private final int to;
+
+    private MappedSortedMap(Mapped<K, R> mapped, int from, int to) {
+      this.mapped = mapped;
+      this.from = from;
+      this.to = to;
+    }
+
+    @Override
+    public int size() {
+      return to - from;
+    }
+
+    @Override
+    public boolean isEmpty() {
+      return from == to;
+    }
+
+    @SuppressWarnings("unchecked")
+    private int indexOf(Object key) {
+      if (key == null) {
+        return -1;
+      }
+      try {
+        return mapped.search((K) key, from, to);
+      } catch (ClassCastException e) {
+        return -1;
+      }
+    }
+
+    @Override
+    public boolean containsKey(Object key) {
+      return indexOf(key) >= 0;
+    }
+
+    @Override
+    public R get(Object key) {
+      int index = indexOf(key);
+      return index >= 0 ? mapped.decode(index) : null;
+    }
+
+    @Override
+    public Comparator<? super K> comparator() {
+      return null;
+    }
+
+    @Override
+    public K firstKey() {
+      if (from == to) {
+        throw new NoSuchElementException();
+      }
+      return mapped.decode(from).getKey();
+    }
+
+    @Override
+    public K lastKey() {
+      if (from == to) {
+        throw new NoSuchElementException();
+      }
+      return mapped.decode(to - 1).getKey();
+    }
+
+    @Override
+    public SortedMap<K, R> subMap(K fromKey, K toKey) {
+      if (fromKey.compareTo(toKey) > 0) {
+        throw new IllegalArgumentException("fromKey > toKey");
+      }
+      int start = mapped.lowerBound(fromKey, from, to);
+      return new MappedSortedMap<>(mapped, start, mapped.lowerBound(toKey, start, to));
+    }
+
+    @Override
+    public SortedMap<K, R> headMap(K toKey) {
+      return new MappedSortedMap<>(mapped, from, mapped.lowerBound(toKey, from, to));
+    }
+
+    @Override
+    public SortedMap<K, R> tailMap(K fromKey) {
+      return new MappedSortedMap<>(mapped, mapped.lowerBound(fromKey, from, to), to);
+    }
+
+    @Override
+    public Set<Map.Entry<K, R>> entrySet() {
+      return new AbstractSet<Map.Entry<K, R>>() {
+        @Override
+        public int size() {
+          return to - from;
+        }
+
+        @Override
+        public Iterator<Map.Entry<K, R>> iterator() {
+          return new RangeIterator<Map.Entry<K, R>>(from, to) {
+            @Override
+            Map.Entry<K, R> get(int index) {
+              R row = mapped.decode(index);
+              return new AbstractMap.SimpleImmutableEntry<>(row.getKey(), row);
+            }
+          };
+        }
+      };
+    }
+  }
+
+  /**
+   * An unmodifiable view of a range of rows, iterated in key order.
+   */
+  private static class MappedRowSet<
+      K extends Comparable<? super K>,
+      R extends Row<K, ?> & Comparable<? super R>
+      > extends AbstractSet<R> {
+
+    final Mapped<K, R> mapped;
+    final int from;
+    final int to;
+
+    private MappedRowSet(Mapped<K, R> mapped, int from, int to) {
+      this.mapped = mapped;
+      this.from = from;
+      this.to = to;
+    }
+
+    @Override
+    public int size() {
+      return to - from;
+    }
+
+    @Override
+    public boolean isEmpty() {
+      return from == to;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public boolean contains(Object o) {
+      if (!(o instanceof Row)) {
+        return false;
+      }
+      int index;
+      try {
+        index = mapped.search(((Row<K, ?>) o).getKey(), from, to);
+      } catch (ClassCastException e) {
+        return false;
+      }
+      return index >= 0 && mapped.decode(index).equals(o);
+    }
+
+    @Override
+    public Iterator<R> iterator() {
+      return new RangeIterator<R>(from, to) {
+        @Override
+        R get(int index) {
+          return mapped.decode(index);
+        }
+      };
+    }
+  }
+
+  /**
+   * An unmodifiable view of a range of rows, sorted by key.
+   * Only used when the natural ordering of the rows matches the order of their keys, otherwise it would not be
+   * ordered consistently with {@link MappedSortedRowSet#comparator()}.
+   */
+  private static final class MappedSortedRowSet<
+      K extends Comparable<? super K>,
+      R extends Row<K, ?> & Comparable<? super R>
+      > extends MappedRowSet<K, R> implements SortedSet<R> {
+
+    private MappedSortedRowSet(Mapped<K, R> mapped, int from, int to) {
+      super(mapped, from, to);
+    }
+
+    @Override
+    public Comparator<? super R> comparator() {
+      return null;
+    }
+
+    @Override
+    public R first() {
+      if (from == to) {
+        throw new NoSuchElementException();
+      }
+      return mapped.decode(from);
+    }
+
+    @Override
+    public R last() {
+      if (from == to) {
+        throw new NoSuchElementException();
+      }
+      return mapped.decode(to - 1);
+    }
+
+    @Override
+    public SortedSet<R> subSet(R fromElement, R toElement) {
+      if (fromElement.compareTo(toElement) > 0) {
+        throw new IllegalArgumentException("fromElement > toElement");
+      }
+      int start = mapped.lowerBound(fromElement.getKey(), from, to);
+      return new MappedSortedRowSet<>(mapped, start, mapped.lowerBound(toElement.getKey(), start, to));
+    }
+
+    @Override
+    public SortedSet<R> headSet(R toElement) {
+      return new MappedSortedRowSet<>(mapped, from, mapped.lowerBound(toElement.getKey(), from, to));
+    }
+
+    @Override
+    public SortedSet<R> tailSet(R fromElement) {
+      return new MappedSortedRowSet<>(mapped, mapped.lowerBound(fromElement.getKey(), from, to), to);
+    }
+  }
+
+  private final Model model;
+  private final String name;
+  private final Path file;
+  private final RowCodec<K, R> codec;
+  private final CallableE<? extends Collection<? extends R>, ? extends SQLException> source;
+  private final CallableE<? extends Long, ? extends SQLException> sourceVersion;
+  private final TableMetrics metrics;
+  private final ChangeFeed<K> changeFeed = new ChangeFeed<>();
+
+  /**
+   * A load of the snapshot file in progress.
+   */
+  private static final class Load<
+      K extends Comparable<? super K>,
+      R extends Row<K, ?> & Comparable<? super R>
+      > {
+
+    private final Thread thread = Thread.currentThread();
+    private final CompletableFuture<Mapped<K, R>> future = new CompletableFuture<>();
+  }
+
+  private final AtomicLong updateCount = new AtomicLong();
+  private final Object mappedLock = new Object();
+  private volatile Mapped<K, R> mapped;
+  // Guarded by mappedLock
+  private Load<K, R> loading;
+
+  /**
+   * @param  file           the snapshot file, used as-is on first use when it already exists and was written at the
+   *                        current source version
+   * @param  source         loads all rows when the snapshot file is written, called without any lock on the model
+   * @param  sourceVersion  gets the current version of the source, which is stored in the snapshot file, such as a
+   *                        modification counter or timestamp maintained by the database.  Called on first use, and
+   *                        before each load.  When <code>null</code>, the snapshot file is always rewritten on first
+   *                        use.
+   */
+  public MappedTable(
+      Model model,
+      String name,
+      Path file,
+      RowCodec<K, R> codec,
+      CallableE<? extends Collection<? extends R>, ? extends SQLException> source,
+      CallableE<? extends Long, ? extends SQLException> sourceVersion
+  ) {
+    this.model = model;
+    this.name = name;
+    this.file = file;
+    this.codec = codec;
+    this.source = source;
+    this.sourceVersion = sourceVersion;
+    ModelMetrics modelMetrics = model.getMetrics();
+    this.metrics = modelMetrics == null ? null : modelMetrics.getTable(name);
+  }
+
+  /**
+   * Creates a table without a source version, so the snapshot file is always rewritten on first use.
+   *
+   * @param  file    the snapshot file
+   * @param  source  loads all rows when the snapshot file is written, called without any lock on the model
+   */
+  public MappedTable(
+      Model model,
+      String name,
+      Path file,
+      RowCodec<K, R> codec,
+      CallableE<? extends Collection<? extends R>, ? extends SQLException> source
+  ) {
+    this(model, name, file, codec, source, null);
+  }
+
+  @Override
+  public Model getModel() {
+    return model;
+  }
+
+  @Override
+  public String getName() {
+    return name;
+  }
+
+  @Override
+  public TableMetrics getMetrics() {
+    return metrics;
+  }
+
+  /**
+   * {@inheritDoc}
+   *
+   * <p>The changed rows are not known, so only a {@linkplain ChangeFeed#reset() reset} is published on each
+   * {@link MappedTable#tableUpdated()}.</p>
+   */
+  @Override
+  @SuppressWarnings("ReturnOfCollectionOrArrayField")
+  public ChangeFeed<K> getChangeFeed() {
+    return changeFeed;
+  }
+
+  /**
+   * Gets the snapshot file.
+   */
+  public Path getFile() {
+    return file;
+  }
+
+  /**
+   * Gets the current mapping, writing and mapping the snapshot file first when missing or out of date.
+   * Other threads wait while the snapshot file is written.
+   */
+  private Mapped<K, R> getMapped() throws SQLException {
+    while (true) {
+      Mapped<K, R> m = mapped;
+      if (m != null && m.updateCount == updateCount.get()) {
+        return m;
+      }
+      Load<K, R> load;
+      long current;
+      boolean loader = false;
+      synchronized (mappedLock) {
+        m = mapped;
+        current = updateCount.get();
+        if (m != null && m.updateCount == current) {
+          return m;
+        }
+        load = loading;
+        if (load == null) {
+          load = new Load<>();
+          loading = load;
+          loader = true;
+        }
+      }
+      if (loader) {
+        try {
+          m = load(m == null && current == 0, current);
+        } catch (Throwable t) {
+          synchronized (mappedLock) {
+            loading = null;
+          }
+          load.future.completeExceptionally(t);
+          throw t;
+        }
+        synchronized (mappedLock) {
+          mapped = m;
+          loading = null;
+        }
+        load.future.complete(m);
+        return m;
+      }
+      if (load.thread == Thread.currentThread()) {
+        throw new SQLException("The source of " + name + " may not access the table while it is loading");
+      }
+      try {
+        load.future.join();
+      } catch (CompletionException e) {
+        Throwable cause = e.getCause();
+        if (cause instanceof SQLException) {
+          SQLException sqlCause = (SQLException) cause;
+          throw new SQLException(sqlCause.getMessage(), sqlCause.getSQLState(), sqlCause);
+        }
+        throw new SQLException("Unable to load " + name, cause);
+      }
+      // Check again, since the table may have been updated during the load
+    }
+  }
+
+  /**
+   * Maps the snapshot file, first loading the rows and writing the file when needed.
+   *
+   * @param  firstUse  when the file may be used as-is when written at the current source version
+   */
+  private Mapped<K, R> load(boolean firstUse, long current) throws SQLException {
+    if (metrics != null) {
+      metrics.recordCacheMiss();
+    }
+    Long version = sourceVersion == null ? null : sourceVersion.call();
+    ByteBuffer buffer = null;
+    if (firstUse && version != null && Files.exists(file)) {
+      try {
+        buffer = SnapshotFile.map(file);
+        if (!version.equals(SnapshotFile.getSourceVersion(buffer))) {
+          buffer = null;
+        }
+      } catch (IOException e) {
+        // Rewritten below
+      }
+    }
+    try {
+      if (buffer == null) {
+        Collection<? extends R> rows = source.call();
+        if (version == null) {
+          SnapshotFile.write(file, rows, codec);
+        } else {
+          SnapshotFile.write(file, rows, codec, version);
+        }
+        buffer = SnapshotFile.map(file);
+      }
+    } catch (IOException | IllegalArgumentException e) {
+      throw new SQLException("Unable to write snapshot of " + name + ": " + file, e);
+    }
+    return new Mapped<>(codec, buffer, current);
+  }
+
+  /**
+   * {@inheritDoc}
+   *
+   * <p>The snapshot file is rewritten from the source on next use, and the change feed is reset.</p>
+   */
+  @Override
+  public void tableUpdated() {
+    Table.super.tableUpdated();
+    updateCount.incrementAndGet();
+    changeFeed.reset();
+    if (metrics != null) {
+      metrics.recordTableUpdated();
+    }
+  }
+
+  @Override
+  public Map<K, R> getMap() {
+    return getSortedMap();
+  }
+
+  @Override
+  public SortedMap<K, R> getSortedMap() {
+    try {
+      return getMapped().sortedMap;
+    } catch (SQLException err) {
+      throw new WrappedException(err);
+    }
+  }
+
+  @Override
+  public Set<R> getUnsortedRows() throws SQLException {
+    return getMapped().unsortedRows;
+  }
+
+  @Override
+  public SortedSet<R> getRows() throws SQLException {
+    return getMapped().getRows();
+  }
+
+  @Override
+  public int getSize() throws SQLException {
+    return getMapped().count;
+  }
+
+  /**
+   * {@inheritDoc}
+   *
+   * <p>This implementation searches by the key of the row instead of scanning all rows.</p>
+   */
+  @Override
+  public boolean contains(Object o) {
+    try {
+      return getMapped().unsortedRows.contains(o);
+    } catch (SQLException err) {
+      throw new WrappedException(err);
+    }
+  }
+
+  @Override
+  public R get(K key) throws NoRowException, SQLException {
+    long startNanos = metrics == null ? 0 : System.nanoTime();
+    try {
+      Mapped<K, R> m = getMapped();
+      int index = m.search(canonicalize(key), 0, m.count);
+      if (index < 0) {
+        if (metrics != null) {
+          metrics.recordCacheMiss();
+        }
+        throw new NoRowException(name + " not found: " + key);
+      }
+      if (metrics != null) {
+        metrics.recordCacheHit();
+      }
+      return m.decode(index);
+    } finally {
+      if (metrics != null) {
+        metrics.get().recordSince(startNanos);
+      }
+    }
+  }
+
+  private R get(Mapped<K, R> m, K key) throws NoRowException {
+    int index = m.search(canonicalize(key), 0, m.count);
+    if (index < 0) {
+      throw new NoRowException(name + " not found: " + key);
+    }
+    return m.decode(index);
+  }
+
+  /**
+   * {@inheritDoc}
+   *
+   * <p>All rows are looked-up from the same mapping.</p>
+   */
+  @Override
+  public Set<R> getOrderedRows(Iterable<? extends K> keys) throws NoRowException, SQLException {
+    long startNanos = metrics == null ? 0 : System.nanoTime();
+    try {
+      Iterator<? extends K> iter = keys.iterator();
+      if (!iter.hasNext()) {
+        return Collections.emptySet();
+      }
+      Mapped<K, R> m = getMapped();
+      Set<R> results = new LinkedHashSet<>();
+      do {
+        results.add(get(m, iter.next()));
+      } while (iter.hasNext());
+      return Collections.unmodifiableSet(results);
+    } finally {
+      if (metrics != null) {
+        metrics.getOrderedRows().recordSince(startNanos);
+      }
+    }
+  }
+
+  /**
+   * {@inheritDoc}
+   *
+   * <p>All rows are looked-up from the same mapping.</p>
+   */
+  @Override
+  public SortedSet<R> getRows(Iterable<? extends K> keys) throws NoRowException, SQLException {
+    long startNanos = metrics == null ? 0 : System.nanoTime();
+    try {
+      Iterator<? extends K> iter = keys.iterator();
+      if (!iter.hasNext()) {
+        return Collections.emptySortedSet();
+      }
+      Mapped<K, R> m = getMapped();
+      SortedSet<R> results = new TreeSet<>();
+      do {
+        results.add(get(m, iter.next()));
+      } while (iter.hasNext());
+      return Collections.unmodifiableSortedSet(results);
+    } finally {
+      if (metrics != null) {
+        metrics.getRows().recordSince(startNanos);
+      }
+    }
+  }
+}
@@ -1,6 +1,6 @@
 /*
  * ao-dao-api - Simple data access objects framework API.
- * Copyright (C) 2011, 2013, 2015, 2016, 2020, 2021, 2022  AO Industries, Inc.
+ * Copyright (C) 2011, 2013, 2015, 2016, 2020, 2021, 2022, 2026  AO Industries, Inc.
  *     support@aoindustries.com
  *     7262 Bull Pen Cir
  *     Mobile, AL 36695
@@ -52,6 +52,28 @@ public interface Model {
    */
   Map<String, ? extends Table<?, ?>> getTables();
 
+  /**
+   * Gets the metrics for this model and its tables.
+   *
+   * @return  the metrics or <code>null</code> when this model is not instrumented
+   */
+  default ModelMetrics getMetrics() {
+    // By default, no metrics are recorded.
+    return null;
+  }
+
+  /**
+   * Gets the limit on the total weight of the caches of all tables in this model.
+   *
+   * @return  the budget or <code>null</code> when only the caches of each table are limited
+   *
+   * @see  BoundedCache
+   */
+  default CacheBudget getCacheBudget() {
+    // By default, there is no limit for the model as a whole.
+    return null;
+  }
+
   /**
    * Clears all caches for all tables for the current thread.
    */
@@ -115,6 +137,59 @@ public interface Model {
     });
   }
 
+  /**
+   * Reads from any number of tables with a single, consistent view of all of them, such as for the several tables
+   * shown on one page.  Tables must not be modified within the read session.
+   *
+   * <p>This default implementation reads within
+   * {@link Model#transactionCall(java.lang.Class, com.aoapps.lang.concurrent.CallableE)}, using a single connection
+   * for the whole session, consistent to the transaction isolation of the database.  Implementations with tables
+   * served from cache should override this to pin one version of the caches of all tables without using a
+   * connection.</p>
+   *
+   * @param  <Ex>  An arbitrary exception type that may be thrown
+   *
+   * @see  Model#readRun(java.lang.Class, com.aoapps.lang.RunnableE)
+   */
+  default <V, Ex extends Throwable> V readCall(Class<? extends Ex> exClass, CallableE<? extends V, ? extends Ex> callable) throws SQLException, Ex {
+    return transactionCall(exClass, callable);
+  }
+
+  /**
+   * Reads from any number of tables with a single, consistent view of all of them.
+   *
+   * @see  Model#readCall(java.lang.Class, com.aoapps.lang.concurrent.CallableE)
+   */
+  default <V> V readCall(CallableE<? extends V, ? extends SQLException> callable) throws SQLException {
+    return readCall(SQLException.class, callable);
+  }
+
+  /**
+   * Reads from any number of tables with a single, consistent view of all of them.
+   *
+   * @see  Model#readCall(java.lang.Class, com.aoapps.lang.concurrent.CallableE)
+   */
+  default void readRun(RunnableE<? extends SQLException> runnable) throws SQLException {
+    readCall(SQLException.class, () -> {
+      runnable.run();
+      return null;
+    });
+  }
+
+  /**
+   * Reads from any number of tables with a single, consistent view of all of them.
+   *
+   * @param  <Ex>  An arbitrary exception type that may be thrown
+   *
+   * @see  Model#readCall(java.lang.Class, com.aoapps.lang.concurrent.CallableE)
+   */
+  default <Ex extends Throwable> void readRun(Class<? extends Ex> exClass, RunnableE<? extends Ex> runnable) throws SQLException, Ex {
+    readCall(exClass, () -> {
+      runnable.run();
+      return null;
+    });
+  }
+
   /**
    * Gets the set of all reports that are supported by this repository implementation, keyed on its unique name.
    */
@@ -122,4 +197,22 @@ public interface Model {
     // By default, there are no reports.
     return Collections.emptyMap();
   }
+
+  /**
+   * Executes a report of this model, recording its duration in {@link ModelMetrics#getReport(java.lang.String)}
+   * when this model is {@linkplain Model#getMetrics() instrumented}.  Reports should be executed through this method
+   * instead of directly through {@link Report#executeReport(java.util.Map)} to be included in the metrics.
+   */
+  default Report.Result executeReport(Report report, Map<String, ? extends Object> parameterValues) throws SQLException {
+    ModelMetrics metrics = getMetrics();
+    if (metrics == null) {
+      return report.executeReport(parameterValues);
+    }
+    long startNanos = System.nanoTime();
+    try {
+      return report.executeReport(parameterValues);
+    } finally {
+      metrics.getReport(report.getName()).recordSince(startNanos);
+    }
+  }
 }
@@ -0,0 +1,227 @@
+/*
+ * ao-dao-api - Simple data access objects framework API.
+ * Copyright (C) 2026  AO Industries, Inc.
+ *     support@aoindustries.com
+ *     7262 Bull Pen Cir
+ *     Mobile, AL 36695
+ *
+ * This file is part of ao-dao-api.
+ *
+ * ao-dao-api is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * ao-dao-api is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with ao-dao-api.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package com.aoapps.dao;
+
+import java.lang.management.ManagementFactory;
+import java.util.Collections;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.LongAdder;
+import javax.management.JMException;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+
+/**
+ * Counters and latencies for one {@link Model}, its tables, transactions, and reports.
+ *
+ * <p>Everything is recorded with striped counters, so recording is safe and cheap under contention.  Reading is
+ * through {@link ModelMetrics#getSnapshot()} or JMX once {@linkplain ModelMetrics#registerMBean() registered}.</p>
+ *
+ * @see  Model#getMetrics()
+ */
+public final class ModelMetrics implements ModelMetricsMXBean {
+
+  private final String name;
+  private final ConcurrentMap<String, TableMetrics> tables = new ConcurrentHashMap<>();
+  private final OperationStats transactions = new OperationStats();
+  private final LongAdder transactionRetries = new LongAdder();
+  private final ConcurrentMap<String, OperationStats> reports = new ConcurrentHashMap<>();
+
+  /**
+   * Creates new metrics for the model of the given name.
+   */
+  public ModelMetrics(String name) {
+    this.name = name;
+  }
+
+  @Override
+  public String getName() {
+    return name;
+  }
+
+  /**
+   * Gets the metrics for the table of the given name, creating them on first use.
+   */
+  public TableMetrics getTable(String tableName) {
+    TableMetrics table = tables.get(tableName);
+    if (table == null) {
+      table = tables.computeIfAbsent(tableName, TableMetrics::new);
+    }
+    return table;
+  }
+
+  /**
+   * Gets the statistics for transactions.  Implementations of
+   * {@link Model#transactionCall(java.lang.Class, com.aoapps.lang.concurrent.CallableE)} should record the total
+   * duration of each transaction, including any retries.
+   */
+  public OperationStats transactions() {
+    return transactions;
+  }
+
+  /**
+   * Records a transaction being retried, such as after a serialization failure.
+   */
+  public void recordTransactionRetry() {
+    transactionRetries.increment();
+  }
+
+  /**
+   * Gets the statistics for {@link Report#executeReport(java.util.Map)} of the report of the given name,
+   * creating them on first use.  These are recorded by
+   * {@link Model#executeReport(com.aoapps.dao.Report, java.util.Map)}.
+   */
+  public OperationStats getReport(String reportName) {
+    OperationStats report = reports.get(reportName);
+    if (report == null) {
+      report = reports.computeIfAbsent(reportName, n -> new OperationStats());
+    }
+    return report;
+  }
+
+  @Override
+  public Map<String, TableMetrics.Snapshot> getTables() {
+    Map<String, TableMetrics.Snapshot> snapshot = new TreeMap<>();
+    for (TableMetrics table : tables.values()) {
+      snapshot.put(table.getName(), table.getSnapshot());
+    }
+    return Collections.unmodifiableMap(snapshot);
+  }
+
+  @Override
+  public OperationStats.Snapshot getTransactions() {
+    return transactions.getSnapshot();
+  }
+
+  @Override
+  public long getTransactionRetries() {
+    return transactionRetries.sum();
+  }
+
+  @Override
+  public Map<String, OperationStats.Snapshot> getReports() {
+    Map<String, OperationStats.Snapshot> snapshot = new TreeMap<>();
+    for (Map.Entry<String, OperationStats> entry : reports.entrySet()) {
+      snapshot.put(entry.getKey(), entry.getValue().getSnapshot());
+    }
+    return Collections.unmodifiableMap(snapshot);
+  }
+
+  /**
+   * Gets a point-in-time copy of these metrics.  This is a detached copy of the same values exposed through JMX.
+   */
+  public Snapshot getSnapshot() {
+    return new Snapshot(name, getTables(), getTransactions(), getTransactionRetries(), getReports());
+  }
+
+  /**
+   * Gets the JMX object name for these metrics: <code>com.aoapps.dao:type=ModelMetrics,name=<var>name</var></code>.
+   */
+  public ObjectName getObjectName() throws JMException {
+    return new ObjectName("com.aoapps.dao:type=ModelMetrics,name=" + ObjectName.quote(name));
+  }
+
+  /**
+   * Registers these metrics with the given server.
+   *
+   * @return  the name registered
+   */
+  public ObjectName registerMBean(MBeanServer server) throws JMException {
+    return server.registerMBean(this, getObjectName()).getObjectName();
+  }
+
+  /**
+   * Registers these metrics with the {@linkplain ManagementFactory#getPlatformMBeanServer() platform server}.
+   *
+   * @return  the name registered
+   */
+  public ObjectName registerMBean() throws JMException {
+    return registerMBean(ManagementFactory.getPlatformMBeanServer());
+  }
+
+  /**
+   * An immutable copy of {@link ModelMetrics}.
+   */
+  public static final class Snapshot {
+
+    private final String name;
+    private final Map<String, TableMetrics.Snapshot> tables;
+    private final OperationStats.Snapshot transactions;
+    private final long transactionRetries;
+    private final Map<String, OperationStats.Snapshot> reports;
+
+    private Snapshot(
+        String name,
+        Map<String, TableMetrics.Snapshot> tables,
+        OperationStats.Snapshot transactions,
+        long transactionRetries,
+        Map<String, OperationStats.Snapshot> reports
+    ) {
+      this.name = name;
+      this.tables = tables;
+      this.transactions = transactions;
+      this.transactionRetries = transactionRetries;
+      this.reports = reports;
+    }
+
+    /**
+     * Gets the name of the model.
+     */
+    public String getName() {
+      return name;
+    }
+
+    /**
+     * Gets the metrics of each table that has been used, keyed and sorted by table name.
+     */
+    @SuppressWarnings("ReturnOfCollectionOrArrayField") // Already unmodifiable
+    public Map<String, TableMetrics.Snapshot> getTables() {
+      return tables;
+    }
+
+    /**
+     * Gets the statistics for transactions.
+     */
+    public OperationStats.Snapshot getTransactions() {
+      return transactions;
+    }
+
+    /**
+     * Gets the number of times a transaction was retried.
+     */
+    public long getTransactionRetries() {
+      return transactionRetries;
+    }
+
+    /**
+     * Gets the statistics of each report that has been executed, keyed and sorted by report name.
+     */
+    @SuppressWarnings("ReturnOfCollectionOrArrayField") // Already unmodifiable
+    public Map<String, OperationStats.Snapshot> getReports() {
+      return reports;
+    }
+  }
+}
@@ -0,0 +1,59 @@
+/*
+ * ao-dao-api - Simple data access objects framework API.
+ * Copyright (C) 2026  AO Industries, Inc.
+ *     support@aoindustries.com
+ *     7262 Bull Pen Cir
+ *     Mobile, AL 36695
+ *
+ * This file is part of ao-dao-api.
+ *
+ * ao-dao-api is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * ao-dao-api is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with ao-dao-api.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package com.aoapps.dao;
+
+import java.util.Map;
+
+/**
+ * The JMX management interface of {@link ModelMetrics}.
+ *
+ * @see  ModelMetrics#registerMBean(javax.management.MBeanServer)
+ */
+public interface ModelMetricsMXBean {
+
+  /**
+   * Gets the name of the model.
+   */
+  String getName();
+
+  /**
+   * Gets the metrics of each table that has been used, keyed by table name.
+   */
+  Map<String, TableMetrics.Snapshot> getTables();
+
+  /**
+   * Gets the statistics for {@link Model#transactionCall(java.lang.Class, com.aoapps.lang.concurrent.CallableE)}.
+   */
+  OperationStats.Snapshot getTransactions();
+
+  /**
+   * Gets the number of times a transaction was retried.
+   */
+  long getTransactionRetries();
+
+  /**
+   * Gets the statistics of each report that has been executed, keyed by report name.
+   */
+  Map<String, OperationStats.Snapshot> getReports();
+}
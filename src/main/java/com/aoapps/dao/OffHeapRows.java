@@ -0,0 +1,362 @@
+/*
+ * ao-dao-api - Simple data access objects framework API.
+ * Copyright (C) 2026  AO Industries, Inc.
+ *     support@aoindustries.com
+ *     7262 Bull Pen Cir
+ *     Mobile, AL 36695
+ *
+ * This file is part of ao-dao-api.
+ *
+ * ao-dao-api is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * ao-dao-api is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with ao-dao-api.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package com.aoapps.dao;
+
+import java.nio.BufferOverflowException;
+import java.nio.ByteBuffer;
+import java.util.AbstractMap;
+import java.util.AbstractSet;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Set;
+
+/**
+ * An immutable set of rows stored outside of the heap, such as for a large global cache behind
+ * {@link Table#getMap()}.
+ *
+ * <p>Rows are encoded by a {@link RowCodec} into direct buffers allocated in chunks, and indexed by key in a hash
+ * table of primitive arrays.  The heap cost is a few dozen bytes per row, with no objects per row.  Rows are decoded
+ * on each access; a codec may return flyweights that decode their columns only as accessed.</p>
+ *
+ * <p>This is safe for concurrent use by any number of threads.  To change the rows, create a new instance and
+ * replace this one, such as on {@link Table#tableUpdated()}.  The memory outside of the heap is released once this
+ * and all rows decoded from it are garbage collected.</p>
+ */
+public final class OffHeapRows<
+    K extends Comparable<? super K>,
+    R extends Row<K, ?>
+    > {
+
+  /**
+   * The default size of each chunk of encoded rows.  A row larger than this is given a chunk of its own.
+   */
+  public static final int DEFAULT_CHUNK_SIZE = 16 * 1024 * 1024;
+
+  private static final int INITIAL_ROW_BUFFER_SIZE = 256;
+
+  private final RowCodec<K, R> codec;
+  private final ByteBuffer[] chunks;
+  private final long byteSize;
+  private final int size;
+
+  // Per row: chunk index in the high 32 bits and offset in the low 32 bits
+  private final long[] locations;
+  private final int[] lengths;
+  private final int[] hashes;
+
+  // Open addressing, each slot holding the row index plus one, or zero when empty
+  private final int[] slots;
+  private final int mask;
+
+  private final Map<K, R> map = new AbstractMap<K, R>() {
+    @Override
+    public int size() {
+      return size;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public boolean containsKey(Object key) {
+      try {
+        return key != null && indexOf((K) key) != -1;
+      } catch (ClassCastException e) {
+        return false;
+      }
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public R get(Object key) {
+      try {
+        return key == null ? null : OffHeapRows.this.get((K) key);
+      } catch (ClassCastException e) {
+        return null;
+      }
+    }
+
+    @Override
+    public Set<Map.Entry<K, R>> entrySet() {
+      return new AbstractSet<Map.Entry<K, R>>() {
+        @Override
+        public int size() {
+          return size;
+        }
+
+        @Override
+        public Iterator<Map.Entry<K, R>> iterator() {
+          return new RowIterator<Map.Entry<K, R>>() {
+            @Override
+            Map.Entry<K, R> get(int index) {
+              R row = decode(index);
+              return new AbstractMap.SimpleImmutableEntry<>(row.getKey(), row);
+            }
+          };
+        }
+      };
+    }
+  };
+
+  private final Set<R> unsortedRows = new AbstractSet<R>() {
+    @Override
+    public int size() {
+      return size;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public boolean contains(Object o) {
+      if (!(o instanceof Row)) {
+        return false;
+      }
+      R row;
+      try {
+        row = get(((Row<K, ?>) o).getKey());
+      } catch (ClassCastException e) {
+        return false;
+      }
+      return row != null && row.equals(o);
+    }
+
+    @Override
+    public Iterator<R> iterator() {
+      return new RowIterator<R>() {
+        @Override
+        R get(int index) {
+          return decode(index);
+        }
+      };
+    }
+  };
+
+  /**
+   * Iterates the rows in the order given to the constructor.
+   */
+  private abstract class RowIterator<E> implements Iterator<E> {
+
+    private int next;
+
+    @Override
+    public boolean hasNext() {
+      return next < size;
+    }
+
+    @Override
+    public E next() {
+      if (next >= size) {
+        throw new NoSuchElementException();
+      }
+      return get(next++);
+    }
+
+    abstract E get(int index);
+  }
+
+  /**
+   * Encodes a copy of the rows.  The keys of the rows must already be in their
+   * {@linkplain Table#canonicalize(java.lang.Comparable) canonical form}.
+   *
+   * @param  chunkSize  the size of each direct buffer allocated for the rows
+   *
+   * @throws  IllegalArgumentException  when more than one row has the same key or the encoding of a row exceeds
+   *                                    {@link SnapshotFile#MAX_ROW_SIZE}
+   */
+  public OffHeapRows(RowCodec<K, R> codec, Collection<? extends R> rows, int chunkSize) {
+    if (chunkSize <= 0) {
+      throw new IllegalArgumentException("chunkSize <= 0: " + chunkSize);
+    }
+    this.codec = codec;
+    int count = rows.size();
+    locations = new long[count];
+    lengths = new int[count];
+    hashes = new int[count];
+    int tableSize = Integer.highestOneBit(Math.max(count, 1) * 2 - 1) << 1;
+    slots = new int[tableSize];
+    mask = tableSize - 1;
+    List<ByteBuffer> chunkList = new ArrayList<>();
+    ByteBuffer chunk = null;
+    ByteBuffer encoded = ByteBuffer.allocate(INITIAL_ROW_BUFFER_SIZE);
+    long totalBytes = 0;
+    int index = 0;
+    for (R row : rows) {
+      K key = row.getKey();
+      int hash = hash(key);
+      int slot = hash & mask;
+      while (slots[slot] != 0) {
+        int other = slots[slot] - 1;
+        if (hashes[other] == hash && codec.decodeKey(getEncoded(chunkList.get(getChunkIndex(locations[other])), other)).equals(key)) {
+          throw new IllegalArgumentException("Duplicate key: " + key);
+        }
+        slot = (slot + 1) & mask;
+      }
+      while (true) {
+        encoded.clear();
+        try {
+          codec.encode(row, encoded);
+          break;
+        } catch (BufferOverflowException e) {
+          int capacity = encoded.capacity();
+          if (capacity >= SnapshotFile.MAX_ROW_SIZE) {
+            throw new IllegalArgumentException(
+                "Encoding of row exceeds " + SnapshotFile.MAX_ROW_SIZE + " bytes: " + key,
+                e
+            );
+          }
+          encoded = ByteBuffer.allocate(Math.min(capacity * 2, SnapshotFile.MAX_ROW_SIZE));
+        }
+      }
+      encoded.flip();
+      int length = encoded.remaining();
+      if (chunk == null || chunk.remaining() < length) {
+        chunk = ByteBuffer.allocateDirect(Math.max(chunkSize, length));
+        chunkList.add(chunk);
+      }
+      locations[index] = ((long) (chunkList.size() - 1) << 32) | chunk.position();
+      lengths[index] = length;
+      hashes[index] = hash;
+      chunk.put(encoded);
+      totalBytes += length;
+      slots[slot] = ++index;
+    }
+    if (index != count) {
+      throw new IllegalArgumentException("Collection size changed: " + count + " != " + index);
+    }
+    chunks = chunkList.toArray(new ByteBuffer[chunkList.size()]);
+    byteSize = totalBytes;
+    size = count;
+  }
+
+  /**
+   * Encodes a copy of the rows using chunks of {@link OffHeapRows#DEFAULT_CHUNK_SIZE}.
+   *
+   * @see  OffHeapRows#OffHeapRows(com.aoapps.dao.RowCodec, java.util.Collection, int)
+   */
+  public OffHeapRows(RowCodec<K, R> codec, Collection<? extends R> rows) {
+    this(codec, rows, DEFAULT_CHUNK_SIZE);
+  }
+
+  private static int hash(Object key) {
+    int h = key.hashCode();
+    return h ^ (h >>> 16);
+  }
+
+  /**
+   * Gets a read-only view of the encoding of one row, positioned at its start and limited to its end.
+   */
+  private ByteBuffer getEncoded(ByteBuffer chunk, int index) {
+    ByteBuffer encoded = chunk.asReadOnlyBuffer();
+    int offset = (int) locations[index];
+    encoded.limit(offset + lengths[index]).position(offset);
+    return encoded;
+  }
+
+  private static int getChunkIndex(long location) {
+    return (int) (location >>> 32);
+  }
+
+  private R decode(int index) {
+    return codec.decode(getEncoded(chunks[getChunkIndex(locations[index])], index).slice());
+  }
+
+  private int indexOf(K key) {
+    int hash = hash(key);
+    int slot = hash & mask;
+    ByteBuffer scratch = null;
+    int chunkIndex = -1;
+    while (true) {
+      int index = slots[slot] - 1;
+      if (index == -1) {
+        return -1;
+      }
+      if (hashes[index] == hash) {
+        long location = locations[index];
+        int c = getChunkIndex(location);
+        if (c != chunkIndex) {
+          scratch = chunks[c].asReadOnlyBuffer();
+          chunkIndex = c;
+        }
+        int offset = (int) location;
+        scratch.limit(offset + lengths[index]).position(offset);
+        if (codec.decodeKey(scratch).equals(key)) {
+          return index;
+        }
+      }
+      slot = (slot + 1) & mask;
+    }
+  }
+
+  /**
+   * Gets the number of rows.
+   */
+  public int size() {
+    return size;
+  }
+
+  /**
+   * Gets the total size of the encoded rows, in bytes.
+   */
+  public long getByteSize() {
+    return byteSize;
+  }
+
+  /**
+   * Gets the total size of the direct buffers allocated, in bytes.
+   */
+  public long getAllocatedSize() {
+    long allocated = 0;
+    for (ByteBuffer chunk : chunks) {
+      allocated += chunk.capacity();
+    }
+    return allocated;
+  }
+
+  /**
+   * Decodes the row with the given key.
+   *
+   * @return  the row or <code>null</code> when not found
+   */
+  public R get(K key) {
+    int index = indexOf(key);
+    return index == -1 ? null : decode(index);
+  }
+
+  /**
+   * Gets an unmodifiable map view of the rows, iterated in the order given to the constructor.
+   */
+  @SuppressWarnings("ReturnOfCollectionOrArrayField")
+  public Map<K, R> getMap() {
+    return map;
+  }
+
+  /**
+   * Gets an unmodifiable set view of the rows, iterated in the order given to the constructor.
+   */
+  @SuppressWarnings("ReturnOfCollectionOrArrayField")
+  public Set<R> getUnsortedRows() {
+    return unsortedRows;
+  }
+}
@@ -0,0 +1,198 @@
+/*
+ * ao-dao-api - Simple data access objects framework API.
+ * Copyright (C) 2026  AO Industries, Inc.
+ *     support@aoindustries.com
+ *     7262 Bull Pen Cir
+ *     Mobile, AL 36695
+ *
+ * This file is part of ao-dao-api.
+ *
+ * ao-dao-api is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * ao-dao-api is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with ao-dao-api.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package com.aoapps.dao;
+
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Counts and times one kind of operation.  Recording uses only striped counters, so is safe and cheap under
+ * contention from many threads.
+ *
+ * <p>Latencies are kept in a histogram of power-of-two buckets: bucket <code>0</code> counts zero-nanosecond
+ * operations, and bucket <code>b &gt; 0</code> counts operations taking from <code>2<sup>b-1</sup></code> up to
+ * <code>2<sup>b</sup> - 1</code> nanoseconds.</p>
+ */
+public final class OperationStats {
+
+  /**
+   * The number of histogram buckets.
+   */
+  public static final int BUCKETS = Long.SIZE;
+
+  private final LongAdder count = new LongAdder();
+  private final LongAdder totalNanos = new LongAdder();
+  private final LongAccumulator maxNanos = new LongAccumulator(Math::max, 0);
+  private final LongAdder[] histogram = new LongAdder[BUCKETS];
+
+  /**
+   * Creates a new, empty set of statistics.
+   */
+  public OperationStats() {
+    for (int i = 0; i < BUCKETS; i++) {
+      histogram[i] = new LongAdder();
+    }
+  }
+
+  /**
+   * Records one operation.
+   *
+   * @param  nanos  the elapsed time, generally the difference of two calls to {@link System#nanoTime()}.
+   *                Negative values are recorded as zero.
+   */
+  public void record(long nanos) {
+    if (nanos < 0) {
+      nanos = 0;
+    }
+    count.increment();
+    totalNanos.add(nanos);
+    maxNanos.accumulate(nanos);
+    histogram[BUCKETS - Long.numberOfLeadingZeros(nanos)].increment();
+  }
+
+  /**
+   * Records one operation that started at the given time.
+   *
+   * @param  startNanos  the value of {@link System#nanoTime()} when the operation started
+   */
+  public void recordSince(long startNanos) {
+    record(System.nanoTime() - startNanos);
+  }
+
+  /**
+   * Gets a point-in-time copy of these statistics.  Concurrent recording may make the values slightly
+   * inconsistent with each other.
+   */
+  public Snapshot getSnapshot() {
+    long[] buckets = new long[BUCKETS];
+    for (int i = 0; i < BUCKETS; i++) {
+      buckets[i] = histogram[i].sum();
+    }
+    return new Snapshot(count.sum(), totalNanos.sum(), maxNanos.get(), buckets);
+  }
+
+  /**
+   * An immutable copy of {@link OperationStats}.
+   */
+  public static final class Snapshot {
+
+    private final long count;
+    private final long totalNanos;
+    private final long maxNanos;
+    private final long[] histogram;
+
+    private Snapshot(long count, long totalNanos, long maxNanos, long[] histogram) {
+      this.count = count;
+      this.totalNanos = totalNanos;
+      this.maxNanos = maxNanos;
+      this.histogram = histogram;
+    }
+
+    /**
+     * Gets the number of operations.
+     */
+    public long getCount() {
+      return count;
+    }
+
+    /**
+     * Gets the total time of all operations.
+     */
+    public long getTotalNanos() {
+      return totalNanos;
+    }
+
+    /**
+     * Gets the longest time of any operation.
+     */
+    public long getMaxNanos() {
+      return maxNanos;
+    }
+
+    /**
+     * Gets the mean time per operation.
+     */
+    public long getMeanNanos() {
+      return count == 0 ? 0 : totalNanos / count;
+    }
+
+    /**
+     * Gets the approximate median time.
+     */
+    public long getP50Nanos() {
+      return getPercentileNanos(0.50);
+    }
+
+    /**
+     * Gets the approximate 99th percentile time.
+     */
+    public long getP99Nanos() {
+      return getPercentileNanos(0.99);
+    }
+
+    /**
+     * Gets an approximate percentile time.  This is the upper limit of the histogram bucket containing the
+     * percentile, so overestimates by at most a factor of two, and never exceeds {@link Snapshot#getMaxNanos()}.
+     *
+     * @param  percentile  from <code>0.0</code> to <code>1.0</code>
+     */
+    public long getPercentileNanos(double percentile) {
+      if (percentile < 0 || percentile > 1) {
+        throw new IllegalArgumentException("percentile out of range: " + percentile);
+      }
+      long total = 0;
+      for (long bucket : histogram) {
+        total += bucket;
+      }
+      if (total == 0) {
+        return 0;
+      }
+      long target = Math.max(1, (long) Math.ceil(total * percentile));
+      long seen = 0;
+      for (int b = 0; b < BUCKETS; b++) {
+        seen += histogram[b];
+        if (seen >= target) {
+          long upper = b == 0 ? 0 : b == BUCKETS - 1 ? Long.MAX_VALUE : (1L << b) - 1;
+          return Math.min(upper, maxNanos);
+        }
+      }
+      return maxNanos;
+    }
+
+    /**
+     * Gets the count of operations in each histogram bucket.
+     *
+     * @return  a defensive copy
+     */
+    public long[] getHistogram() {
+      return histogram.clone();
+    }
+
+    @Override
+    public String toString() {
+      return "count=" + count + ", mean=" + getMeanNanos() + "ns, p50=" + getP50Nanos() + "ns, p99=" + getP99Nanos()
+          + "ns, max=" + maxNanos + "ns";
+    }
+  }
+}
@@ -0,0 +1,419 @@
+/*
+ * ao-dao-api - Simple data access objects framework API.
+ * Copyright (C) 2026  AO Industries, Inc.
+ *     support@aoindustries.com
+ *     7262 Bull Pen Cir
+ *     Mobile, AL 36695
+ *
+ * This file is part of ao-dao-api.
+ *
+ * ao-dao-api is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * ao-dao-api is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with ao-dao-api.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package com.aoapps.dao;
+
+import java.util.AbstractMap;
+import java.util.AbstractSet;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Objects;
+import java.util.Set;
+
+/**
+ * An immutable hash array mapped trie, where each modification returns a new map sharing all but the path to the
+ * modified key with the original.  This allows a new version of a large map to be created in
+ * <code>O(log<sub>32</sub> n)</code> time and space, instead of copying it.
+ *
+ * <p>Neither keys nor values may be <code>null</code>.</p>
+ */
+final class PersistentHashMap<K, V> extends AbstractMap<K, V> {
+
+  private static final int BITS = 5;
+  private static final int MASK = (1 << BITS) - 1;
+
+  private static final PersistentHashMap<?, ?> EMPTY = new PersistentHashMap<>(null, 0);
+
+  /**
+   * Gets the empty map.
+   */
+  @SuppressWarnings("unchecked")
+  static <K, V> PersistentHashMap<K, V> empty() {
+    return (PersistentHashMap<K, V>) EMPTY;
+  }
+
+  private static int hash(Object key) {
+    int h = key.hashCode();
+    return h ^ (h >>> 16);
+  }
+
+  private static int bit(int hash, int shift) {
+    return 1 << ((hash >>> shift) & MASK);
+  }
+
+  /**
+   * A node of the trie.  The array holds key-value pairs, where a <code>null</code> key has a child node as its value.
+   */
+  private abstract static class Node {
+
+    final Object[] array;
+
+    Node(Object[] array) {
+      this.array = array;
+    }
+
+    abstract Object find(int shift, int hash, Object key);
+
+    /**
+     * @return  <code>this</code> when unchanged
+     */
+    abstract Node plus(int shift, int hash, Object key, Object value, boolean[] added);
+
+    /**
+     * @return  <code>this</code> when unchanged or <code>null</code> when no entries remain
+     */
+    abstract Node minus(int shift, int hash, Object key);
+  }
+
+  /**
+   * A node having a slot for each of the hash bits set in its bitmap.
+   */
+  private static final class BitmapNode extends Node {
+
+    private static final BitmapNode EMPTY = new BitmapNode(0, new Object[0]);
+
+    private final int bitmap;
+
+    private BitmapNode(int bitmap, Object[] array) {
+      super(array);
+      this.bitmap = bitmap;
+    }
+
+    private int index(int bit) {
+      return Integer.bitCount(bitmap & (bit - 1));
+    }
+
+    @Override
+    Object find(int shift, int hash, Object key) {
+      int bit = bit(hash, shift);
+      if ((bitmap & bit) == 0) {
+        return null;
+      }
+      int i = index(bit) << 1;
+      Object k = array[i];
+      Object v = array[i + 1];
+      if (k == null) {
+        return ((Node) v).find(shift + BITS, hash, key);
+      }
+      return key.equals(k) ? v : null;
+    }
+
+    @Override
+    Node plus(int shift, int hash, Object key, Object value, boolean[] added) {
+      int bit = bit(hash, shift);
+      int i = index(bit) << 1;
+      if ((bitmap & bit) == 0) {
+        Object[] newArray = new Object[array.length + 2];
+        System.arraycopy(array, 0, newArray, 0, i);
+        newArray[i] = key;
+        newArray[i + 1] = value;
+        System.arraycopy(array, i, newArray, i + 2, array.length - i);
+        added[0] = true;
+        return new BitmapNode(bitmap | bit, newArray);
+      }
+      Object k = array[i];
+      Object v = array[i + 1];
+      Object newValue;
+      if (k == null) {
+        newValue = ((Node) v).plus(shift + BITS, hash, key, value, added);
+      } else if (key.equals(k)) {
+        newValue = value;
+      } else {
+        added[0] = true;
+        Object[] newArray = array.clone();
+        newArray[i] = null;
+        newArray[i + 1] = newNode(shift + BITS, hash(k), k, v, hash, key, value);
+        return new BitmapNode(bitmap, newArray);
+      }
+      if (newValue == v) {
+        return this;
+      }
+      Object[] newArray = array.clone();
+      newArray[i + 1] = newValue;
+      return new BitmapNode(bitmap, newArray);
+    }
+
+    @Override
+    Node minus(int shift, int hash, Object key) {
+      int bit = bit(hash, shift);
+      if ((bitmap & bit) == 0) {
+        return this;
+      }
+      int i = index(bit) << 1;
+      Object k = array[i];
+      Object v = array[i + 1];
+      if (k == null) {
+        Node child = ((Node) v).minus(shift + BITS, hash, key);
+        if (child == v) {
+          return this;
+        }
+        if (child != null) {
+          Object[] newArray = array.clone();
+          newArray[i + 1] = child;
+          return new BitmapNode(bitmap, newArray);
+        }
+      } else if (!key.equals(k)) {
+        return this;
+      }
+      if (bitmap == bit) {
+        return null;
+      }
+      Object[] newArray = new Object[array.length - 2];
+      System.arraycopy(array, 0, newArray, 0, i);
+      System.arraycopy(array, i + 2, newArray, i, newArray.length - i);
+      return new BitmapNode(bitmap ^ bit, newArray);
+    }
+  }
+
+  /**
+   * A node of keys that all have the same hash.
+   */
+  private static final class CollisionNode extends Node {
+
+    private final int hash;
+
+    private CollisionNode(int hash, Object[] array) {
+      super(array);
+      this.hash = hash;
+    }
+
+    private int indexOf(Object key) {
+      for (int i = 0; i < array.length; i += 2) {
+        if (key.equals(array[i])) {
+          return i;
+        }
+      }
+      return -1;
+    }
+
+    @Override
+    Object find(int shift, int hash, Object key) {
+      if (hash != this.hash) {
+        return null;
+      }
+      int i = indexOf(key);
+      return i == -1 ? null : array[i + 1];
+    }
+
+    @Override
+    Node plus(int shift, int hash, Object key, Object value, boolean[] added) {
+      if (hash != this.hash) {
+        // Nest within a bitmap node, where the hashes differ
+        return new BitmapNode(bit(this.hash, shift), new Object[]{null, this}).plus(shift, hash, key, value, added);
+      }
+      int i = indexOf(key);
+      if (i == -1) {
+        Object[] newArray = Arrays.copyOf(array, array.length + 2);
+        newArray[array.length] = key;
+        newArray[array.length + 1] = value;
+        added[0] = true;
+        return new CollisionNode(hash, newArray);
+      }
+      if (array[i + 1] == value) {
+        return this;
+      }
+      Object[] newArray = array.clone();
+      newArray[i + 1] = value;
+      return new CollisionNode(hash, newArray);
+    }
+
+    @Override
+    Node minus(int shift, int hash, Object key) {
+      if (hash != this.hash) {
+        return this;
+      }
+      int i = indexOf(key);
+      if (i == -1) {
+        return this;
+      }
+      if (array.length == 2) {
+        return null;
+      }
+      Object[] newArray = new Object[array.length - 2];
+      System.arraycopy(array, 0, newArray, 0, i);
+      System.arraycopy(array, i + 2, newArray, i, newArray.length - i);
+      return new CollisionNode(hash, newArray);
+    }
+  }
+
+  private static Node newNode(int shift, int hash1, Object key1, Object value1, int hash2, Object key2, Object value2) {
+    if (hash1 == hash2) {
+      return new CollisionNode(hash1, new Object[]{key1, value1, key2, value2});
+    }
+    boolean[] added = new boolean[1];
+    return BitmapNode.EMPTY
+        .plus(shift, hash1, key1, value1, added)
+        .plus(shift, hash2, key2, value2, added);
+  }
+
+  private final Node root;
+  private final int size;
+
+  private PersistentHashMap(Node root, int size) {
+    this.root = root;
+    this.size = size;
+  }
+
+  @Override
+  public int size() {
+    return size;
+  }
+
+  @Override
+  public boolean isEmpty() {
+    return size == 0;
+  }
+
+  @Override
+  @SuppressWarnings("unchecked")
+  public V get(Object key) {
+    return root == null || key == null ? null : (V) root.find(0, hash(key), key);
+  }
+
+  @Override
+  public boolean containsKey(Object key) {
+    return get(key) != null;
+  }
+
+  /**
+   * Gets a map with the given key mapped to the given value.
+   *
+   * @return  <code>this</code> when the key is already mapped to the same instance
+   */
+  PersistentHashMap<K, V> plus(K key, V value) {
+    Objects.requireNonNull(key);
+    Objects.requireNonNull(value);
+    boolean[] added = new boolean[1];
+    Node newRoot = (root == null ? BitmapNode.EMPTY : root).plus(0, hash(key), key, value, added);
+    return newRoot == root ? this : new PersistentHashMap<>(newRoot, added[0] ? size + 1 : size);
+  }
+
+  /**
+   * Gets a map without the given key.
+   *
+   * @return  <code>this</code> when the key is not present
+   */
+  PersistentHashMap<K, V> minus(Object key) {
+    if (root == null || key == null) {
+      return this;
+    }
+    Node newRoot = root.minus(0, hash(key), key);
+    if (newRoot == root) {
+      return this;
+    }
+    return newRoot == null ? empty() : new PersistentHashMap<>(newRoot, size - 1);
+  }
+
+  /**
+   * Iterates the entries of the trie depth-first, with a stack of the arrays being visited.
+   */
+  private static final class EntryIterator<K, V> implements Iterator<Map.Entry<K, V>> {
+
+    // Seven levels of five bits covers all 32 bits of the hash, plus one for collisions
+    private final Object[][] arrays = new Object[8][];
+    private final int[] indexes = new int[8];
+    private int depth;
+    private Map.Entry<K, V> next;
+
+    private EntryIterator(Node root) {
+      if (root != null) {
+        arrays[0] = root.array;
+        advance();
+      } else {
+        depth = -1;
+      }
+    }
+
+    @SuppressWarnings("unchecked")
+    private void advance() {
+      while (depth >= 0) {
+        Object[] array = arrays[depth];
+        int i = indexes[depth];
+        if (i >= array.length) {
+          depth--;
+        } else {
+          indexes[depth] = i + 2;
+          Object k = array[i];
+          Object v = array[i + 1];
+          if (k != null) {
+            next = new SimpleImmutableEntry<>((K) k, (V) v);
+            return;
+          }
+          depth++;
+          arrays[depth] = ((Node) v).array;
+          indexes[depth] = 0;
+        }
+      }
+      next = null;
+    }
+
+    @Override
+    public boolean hasNext() {
+      return next != null;
+    }
+
+    @Override
+    public Map.Entry<K, V> next() {
+      Map.Entry<K, V> entry = next;
+      if (entry == null) {
+        throw new NoSuchElementException();
+      }
+      advance();
+      return entry;
+    }
+  }
+
+  private Set<Map.Entry<K, V>> entrySet;
+
+  @Override
+  public Set<Map.Entry<K, V>> entrySet() {
+    Set<Map.Entry<K, V>> s = entrySet;
+    if (s == null) {
+      s = new AbstractSet<Map.Entry<K, V>>() {
+        @Override
+        public Iterator<Map.Entry<K, V>> iterator() {
+          return new EntryIterator<>(root);
+        }
+
+        @Override
+        public int size() {
+          return size;
+        }
+
+        @Override
+        public boolean contains(Object o) {
+          if (!(o instanceof Map.Entry)) {
+            return false;
+          }
+          Map.Entry<?, ?> entry = (Map.Entry<?, ?>) o;
+          Object value = get(entry.getKey());
+          return value != null && value.equals(entry.getValue());
+        }
+      };
+      entrySet = s;
+    }
+    return s;
+  }
+}
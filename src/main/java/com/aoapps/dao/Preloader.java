@@ -0,0 +1,249 @@
+/*
+ * ao-dao-api - Simple data access objects framework API.
+ * Copyright (C) 2026  AO Industries, Inc.
+ *     support@aoindustries.com
+ *     7262 Bull Pen Cir
+ *     Mobile, AL 36695
+ *
+ * This file is part of ao-dao-api.
+ *
+ * ao-dao-api is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * ao-dao-api is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with ao-dao-api.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package com.aoapps.dao;
+
+import com.aoapps.lang.exception.WrappedException;
+import java.io.IOException;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Loads a set of tables of a {@link Model} in parallel, such as to warm global caches at startup before serving
+ * requests.
+ *
+ * <p>By default, each table is loaded with {@link Table#getUnsortedRows()}.  A different {@link Loader} may load from
+ * elsewhere, such as a local {@link SnapshotFile} for a start that does not depend on the database:</p>
+ *
+ * <pre>
+ * new Preloader(model, names, 4, table -&gt; {
+ *   Path file = dir.resolve(table.getName() + ".snapshot");
+ *   return Files.exists(file)
+ *       ? ((InMemoryTable&lt;K, R&gt;) table).loadSnapshot(file, codec)
+ *       : Preloader.DEFAULT_LOADER.load(table);
+ * }, listener).preload();
+ * </pre>
+ */
+public final class Preloader {
+
+  /**
+   * Loads one table.
+   */
+  @FunctionalInterface
+  public interface Loader {
+    /**
+     * Loads the table.
+     *
+     * @return  the number of rows loaded
+     */
+    int load(Table<?, ?> table) throws SQLException, IOException;
+  }
+
+  /**
+   * Loads a table by {@link Table#getUnsortedRows()}.
+   */
+  public static final Loader DEFAULT_LOADER = table -> table.getUnsortedRows().size();
+
+  /**
+   * The outcome of loading one table.
+   */
+  public static final class Result {
+
+    private final String tableName;
+    private final int rows;
+    private final long nanos;
+    private final Throwable error;
+
+    private Result(String tableName, int rows, long nanos, Throwable error) {
+      this.tableName = tableName;
+      this.rows = rows;
+      this.nanos = nanos;
+      this.error = error;
+    }
+
+    /**
+     * Gets the name of the table.
+     */
+    public String getTableName() {
+      return tableName;
+    }
+
+    /**
+     * Gets the number of rows loaded, or <code>-1</code> when failed.
+     */
+    public int getRows() {
+      return rows;
+    }
+
+    /**
+     * Gets the time taken to load the table, or to fail.
+     */
+    public long getNanos() {
+      return nanos;
+    }
+
+    /**
+     * Gets the exception when the table failed to load.
+     *
+     * @return  the error or <code>null</code> when loaded successfully
+     */
+    public Throwable getError() {
+      return error;
+    }
+
+    @Override
+    public String toString() {
+      return error == null
+          ? tableName + ": " + rows + " rows in " + (nanos / 1000000) + " ms"
+          : tableName + ": failed after " + (nanos / 1000000) + " ms: " + error;
+    }
+  }
+
+  /**
+   * Receives progress as each table is loaded.  Called from the loading threads, possibly concurrently.
+   */
+  @FunctionalInterface
+  public interface Listener {
+    /**
+     * Called when a table has loaded or failed.
+     *
+     * @param  completed  the number of tables completed so far, including this one
+     * @param  total      the total number of tables being loaded
+     */
+    void tableCompleted(Result result, int completed, int total);
+  }
+
+  private final List<Table<?, ?>> tables;
+  private final int parallelism;
+  private final Loader loader;
+  private final Listener listener;
+
+  /**
+   * Creates a new preloader.
+   *
+   * @param  tableNames   the names of tables in {@link Model#getTables()}
+   * @param  parallelism  the maximum number of tables loaded at once
+   * @param  loader       loads each table
+   * @param  listener     receives progress or <code>null</code> for none
+   *
+   * @throws  IllegalArgumentException  when a table is not in the model
+   */
+  public Preloader(Model model, Iterable<String> tableNames, int parallelism, Loader loader, Listener listener) {
+    if (parallelism < 1) {
+      throw new IllegalArgumentException("parallelism < 1: " + parallelism);
+    }
+    Map<String, ? extends Table<?, ?>> modelTables = model.getTables();
+    List<Table<?, ?>> newTables = new ArrayList<>();
+    for (String tableName : tableNames) {
+      Table<?, ?> table = modelTables.get(tableName);
+      if (table == null) {
+        throw new IllegalArgumentException("Table not found: " + tableName);
+      }
+      newTables.add(table);
+    }
+    this.tables = newTables;
+    this.parallelism = parallelism;
+    this.loader = loader;
+    this.listener = listener;
+  }
+
+  /**
+   * Creates a new preloader using the {@linkplain #DEFAULT_LOADER default loader}, without a listener.
+   *
+   * @param  tableNames   the names of tables in {@link Model#getTables()}
+   * @param  parallelism  the maximum number of tables loaded at once
+   *
+   * @throws  IllegalArgumentException  when a table is not in the model
+   */
+  public Preloader(Model model, Iterable<String> tableNames, int parallelism) {
+    this(model, tableNames, parallelism, DEFAULT_LOADER, null);
+  }
+
+  /**
+   * Loads all tables, blocking until every table has loaded or failed.  A failed table does not stop the others.
+   *
+   * @return  the results, in the same order as the table names
+   *
+   * @throws  InterruptedException  when interrupted while waiting, in which case loading is cancelled
+   */
+  public List<Result> preload() throws InterruptedException {
+    int total = tables.size();
+    if (total == 0) {
+      return Collections.emptyList();
+    }
+    AtomicInteger completed = new AtomicInteger();
+    AtomicInteger threadCounter = new AtomicInteger();
+    ThreadFactory threadFactory = r -> {
+      Thread thread = new Thread(r, Preloader.class.getSimpleName() + "-" + threadCounter.incrementAndGet());
+      thread.setDaemon(true);
+      return thread;
+    };
+    ExecutorService executor = Executors.newFixedThreadPool(Math.min(parallelism, total), threadFactory);
+    try {
+      List<Future<Result>> futures = new ArrayList<>(total);
+      for (Table<?, ?> table : tables) {
+        futures.add(executor.submit(() -> {
+          long startNanos = System.nanoTime();
+          Result result;
+          try {
+            result = new Result(table.getName(), loader.load(table), System.nanoTime() - startNanos, null);
+          } catch (SQLException | IOException | RuntimeException e) {
+            result = new Result(table.getName(), -1, System.nanoTime() - startNanos, e);
+          }
+          if (listener != null) {
+            listener.tableCompleted(result, completed.incrementAndGet(), total);
+          }
+          return result;
+        }));
+      }
+      List<Result> results = new ArrayList<>(total);
+      for (Future<Result> future : futures) {
+        try {
+          results.add(future.get());
+        } catch (ExecutionException e) {
+          // Only an error or a listener failure reaches here
+          Throwable cause = e.getCause();
+          if (cause instanceof Error) {
+            throw (Error) cause;
+          }
+          if (cause instanceof RuntimeException) {
+            throw (RuntimeException) cause;
+          }
+          throw new WrappedException(cause);
+        }
+      }
+      return Collections.unmodifiableList(results);
+    } finally {
+      executor.shutdownNow();
+    }
+  }
+}
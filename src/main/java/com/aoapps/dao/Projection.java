@@ -0,0 +1,57 @@
+/*
+ * ao-dao-api - Simple data access objects framework API.
+ * Copyright (C) 2026  AO Industries, Inc.
+ *     support@aoindustries.com
+ *     7262 Bull Pen Cir
+ *     Mobile, AL 36695
+ *
+ * This file is part of ao-dao-api.
+ *
+ * ao-dao-api is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * ao-dao-api is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with ao-dao-api.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package com.aoapps.dao;
+
+import java.util.Set;
+
+/**
+ * A lightweight view of a subset of the columns of a row, such as only the key and a display name.
+ *
+ * <p>Implementations of {@link Table} that can load only the {@linkplain Projection#getColumns() required columns}
+ * override {@link Table#getProjected(com.aoapps.dao.Projection)} to do so, and build each view from a row having
+ * only those columns populated.  Other properties of the views may be loaded on first access with a
+ * {@link LazyColumn} shared by all the views of one call, so they are loaded in batches instead of once per row.</p>
+ *
+ * @param  <R>  the type of row
+ * @param  <P>  the type of view
+ */
+@FunctionalInterface
+public interface Projection<R extends Row<?, ?>, P> {
+
+  /**
+   * Creates the view of one row.  Only the key and the {@linkplain Projection#getColumns() required columns} of the
+   * row may be used.
+   */
+  P project(R row);
+
+  /**
+   * Gets the names of the columns required by {@link Projection#project(com.aoapps.dao.Row)}, other than the key.
+   *
+   * @return  the column names or <code>null</code> when all columns are required.  This default implementation
+   *          returns <code>null</code>.
+   */
+  default Set<String> getColumns() {
+    return null;
+  }
+}
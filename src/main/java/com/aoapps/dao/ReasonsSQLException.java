@@ -1,6 +1,6 @@
 /*
  * ao-dao-api - Simple data access objects framework API.
- * Copyright (C) 2011, 2013, 2015, 2016, 2020, 2021, 2022  AO Industries, Inc.
+ * Copyright (C) 2011, 2013, 2015, 2016, 2020, 2021, 2022, 2026  AO Industries, Inc.
  *     support@aoindustries.com
  *     7262 Bull Pen Cir
  *     Mobile, AL 36695
@@ -29,6 +29,10 @@ import java.util.List;
 
 /**
  * A SQL exception with attached human-readable reasons.
+ *
+ * <p>For routine rejections, such as by business rules, use
+ * {@link ReasonsSQLException#stackless(java.lang.String, java.lang.String, java.util.List)} to avoid the cost of
+ * capturing a stack trace.</p>
  */
 public class ReasonsSQLException extends SQLException {
 
@@ -36,6 +40,42 @@ public class ReasonsSQLException extends SQLException {
 
   private final List<? extends Reason> reasons;
 
+  /**
+   * Does not capture a stack trace, except when a surrogate.
+   */
+  private static final class Stackless extends ReasonsSQLException {
+
+    private static final long serialVersionUID = 1L;
+
+    private boolean surrogate;
+
+    private Stackless(String message, String sqlState, List<? extends Reason> reasons) {
+      super(message, sqlState, reasons);
+    }
+
+    @Override
+    public synchronized Throwable fillInStackTrace() {
+      return this;
+    }
+
+    /**
+     * Captures the stack trace after all, for a surrogate.
+     */
+    private void captureStackTrace() {
+      surrogate = true;
+      super.fillInStackTrace();
+    }
+  }
+
+  /**
+   * Creates a new exception without a stack trace, for expected rejections where the stack trace would not be used.
+   *
+   * @param  reasons  No defensive copy is made
+   */
+  public static ReasonsSQLException stackless(String message, String sqlState, List<? extends Reason> reasons) {
+    return new Stackless(message, sqlState, reasons);
+  }
+
   /**
    * Creates a new exception.
    *
@@ -69,11 +109,28 @@ public class ReasonsSQLException extends SQLException {
     return reasons;
   }
 
+  /**
+   * Checks if this exception was created without a stack trace.
+   *
+   * @see  ReasonsSQLException#stackless(java.lang.String, java.lang.String, java.util.List)
+   */
+  public boolean isStackless() {
+    return this instanceof Stackless && !((Stackless) this).surrogate;
+  }
+
   static {
     Throwables.registerSurrogateFactory(ReasonsSQLException.class, (template, cause) -> {
       ReasonsSQLException newEx = new ReasonsSQLException(template.getMessage(), template.getSQLState(), template.reasons);
       newEx.initCause(cause);
       return newEx;
     });
+    // Neither the template nor the cause has a stack trace, so the surrogate captures its own as the only record of
+    // where the exception was propagated
+    Throwables.registerSurrogateFactory(Stackless.class, (template, cause) -> {
+      Stackless newEx = new Stackless(template.getMessage(), template.getSQLState(), template.getReasons());
+      newEx.captureStackTrace();
+      newEx.initCause(cause);
+      return newEx;
+    });
   }
 }
@@ -1,6 +1,6 @@
 /*
  * ao-dao-api - Simple data access objects framework API.
- * Copyright (C) 2011, 2013, 2015, 2016, 2019, 2021, 2022  AO Industries, Inc.
+ * Copyright (C) 2011, 2013, 2015, 2016, 2019, 2021, 2022, 2026  AO Industries, Inc.
  *     support@aoindustries.com
  *     7262 Bull Pen Cir
  *     Mobile, AL 36695
@@ -24,6 +24,7 @@
 package com.aoapps.dao;
 
 import java.sql.SQLException;
+import java.util.Collections;
 import java.util.List;
 
 /**
@@ -40,7 +41,44 @@ public interface Removable {
   /**
    * Removes the object.
    *
+   * <p>As this is a routine rejection, implementations should throw a
+   * {@linkplain ReasonsSQLException#stackless(java.lang.String, java.lang.String, java.util.List) stackless}
+   * exception.</p>
+   *
    * @throws ReasonsSQLException  when {@link Removable#getCannotRemoveReasons()} would return non-empty.
+   *
+   * @see  Removable#tryRemove()
    */
   void remove() throws SecurityException, ReasonsSQLException, SQLException;
+
+  /**
+   * Removes the object when possible, returning the reasons it cannot be removed instead of throwing
+   * {@link ReasonsSQLException}.  This is preferred for bulk removal where rejections are expected.
+   *
+   * <p>This default implementation checks {@link Removable#getCannotRemoveReasons()} before calling
+   * {@link Removable#remove()}, still catching {@link ReasonsSQLException} in case the reasons change between.
+   * When {@link Removable#remove()} checks the reasons itself, as is typical, they are found twice for each object
+   * removed; implementations should override this to check only once when finding the reasons is expensive.</p>
+   *
+   * @return  the reasons the object was not removed or an empty list when removed
+   *
+   * @throws ReasonsSQLException  when {@link Removable#remove()} throws one without any reasons, which cannot be
+   *                              distinguished from removal by the returned list
+   */
+  default List<? extends Reason> tryRemove() throws SecurityException, SQLException {
+    List<? extends Reason> reasons = getCannotRemoveReasons();
+    if (!reasons.isEmpty()) {
+      return reasons;
+    }
+    try {
+      remove();
+    } catch (ReasonsSQLException e) {
+      reasons = e.getReasons();
+      if (reasons == null || reasons.isEmpty()) {
+        throw e;
+      }
+      return reasons;
+    }
+    return Collections.emptyList();
+  }
 }
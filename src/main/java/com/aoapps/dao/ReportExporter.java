@@ -0,0 +1,610 @@
+/*
+ * ao-dao-api - Simple data access objects framework API.
+ * Copyright (C) 2026  AO Industries, Inc.
+ *     support@aoindustries.com
+ *     7262 Bull Pen Cir
+ *     Mobile, AL 36695
+ *
+ * This file is part of ao-dao-api.
+ *
+ * ao-dao-api is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * ao-dao-api is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with ao-dao-api.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package com.aoapps.dao;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.SelectableChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.charset.StandardCharsets;
+import java.sql.SQLException;
+import java.util.Iterator;
+import java.util.List;
+
+/**
+ * Streams a {@link Report.Result} to an {@link OutputStream} or {@link WritableByteChannel}.
+ *
+ * <p>Values are encoded directly into a fixed-size buffer that is written in chunks as it fills, so memory use
+ * does not grow with the size of the result.  No per-row {@link String} is built; only values that are neither
+ * {@link CharSequence} nor integral {@link Number} are converted with {@link Object#toString()}.</p>
+ *
+ * <p>Writes are blocking: rows are only pulled from {@link Report.Result#getTableData()} as fast as the
+ * destination accepts bytes, which provides backpressure all the way back to the report.</p>
+ *
+ * <p>Instances are immutable and may be shared between threads.</p>
+ */
+public final class ReportExporter {
+
+  /**
+   * The supported export formats.
+   */
+  public enum Format {
+    /**
+     * <a href="https://www.rfc-editor.org/rfc/rfc4180">RFC 4180</a> comma-separated values, with a header row of
+     * {@linkplain Report.Column#getName() column names} and <code>CRLF</code> line endings.
+     * A <code>null</code> value is written as an empty field.
+     */
+    CSV,
+
+    /**
+     * <a href="https://jsonlines.org/">JSON Lines</a>, one object per row keyed by
+     * {@linkplain Report.Column#getName() column name}.  {@link Number} and {@link Boolean} values are written as
+     * JSON numbers and booleans, all other values as JSON strings.
+     */
+    JSON_LINES,
+
+    /**
+     * A compact binary format, written as a header followed by batches of rows.  Each batch stores its values
+     * column by column, in the style of <a href="https://arrow.apache.org/">Apache Arrow</a> record batches, so
+     * memory is bounded by the batch size while readers may still process one column at a time.
+     *
+     * <p>Varints are unsigned LEB128 and doubles are big-endian.  The layout is:</p>
+     *
+     * <pre>
+     * header:  "AODR" (4 bytes), version (1 byte), columnCount (varint),
+     *          columnCount * ( name (string), alignment ordinal or -1 (1 byte) )
+     * batch:   rowCount (varint, &gt; 0), columnCount * rowCount * value
+     * end:     0 (varint)
+     *
+     * value:   0x00                           null
+     *          0x01 zigzag varint             Long, Integer, Short, or Byte
+     *          0x02 IEEE 754 double (8 bytes) Double or Float
+     *          0x03 string                    any other value
+     *          0x04 / 0x05                    true / false
+     * string:  UTF-8 length (varint), UTF-8 bytes
+     * </pre>
+     *
+     * <p>Every other value, including other {@link Number} types such as {@link java.math.BigDecimal},
+     * {@link java.math.BigInteger}, and {@link java.util.concurrent.atomic.AtomicLong}, is written as the string of
+     * its {@link Object#toString()}, or as-is when a {@link CharSequence}.</p>
+     */
+    COLUMNAR
+  }
+
+  /**
+   * The default buffer size, in bytes.
+   */
+  public static final int DEFAULT_BUFFER_SIZE = 64 * 1024;
+
+  /**
+   * The default number of rows per batch in {@link Format#COLUMNAR}.
+   */
+  public static final int DEFAULT_BATCH_SIZE = 1024;
+
+  /**
+   * The largest single write made to the buffer outside of {@link Sink#putBytes(byte[])}, which is a decimal
+   * <code>long</code>: a sign and up to 19 digits.  The buffer must be at least this size.
+   */
+  private static final int MAX_ATOMIC_WRITE = 20;
+
+  private static final byte[] COLUMNAR_MAGIC = {'A', 'O', 'D', 'R'};
+  private static final byte COLUMNAR_VERSION = 1;
+
+  private static final byte TAG_NULL = 0x00;
+  private static final byte TAG_INTEGRAL = 0x01;
+  private static final byte TAG_DOUBLE = 0x02;
+  private static final byte TAG_STRING = 0x03;
+  private static final byte TAG_TRUE = 0x04;
+  private static final byte TAG_FALSE = 0x05;
+
+  private final Format format;
+  private final int bufferSize;
+  private final int batchSize;
+
+  /**
+   * Creates a new exporter.
+   *
+   * @param  bufferSize  The size of the write buffer, in bytes
+   * @param  batchSize   The number of rows per batch in {@link Format#COLUMNAR}, ignored by other formats
+   */
+  public ReportExporter(Format format, int bufferSize, int batchSize) {
+    if (bufferSize < MAX_ATOMIC_WRITE) {
+      throw new IllegalArgumentException("bufferSize < " + MAX_ATOMIC_WRITE + ": " + bufferSize);
+    }
+    if (batchSize < 1) {
+      throw new IllegalArgumentException("batchSize < 1: " + batchSize);
+    }
+    if (format == null) {
+      throw new IllegalArgumentException("format is null");
+    }
+    this.format = format;
+    this.bufferSize = bufferSize;
+    this.batchSize = batchSize;
+  }
+
+  /**
+   * Creates a new exporter with the {@linkplain #DEFAULT_BUFFER_SIZE default buffer size} and
+   * {@linkplain #DEFAULT_BATCH_SIZE default batch size}.
+   */
+  public ReportExporter(Format format) {
+    this(format, DEFAULT_BUFFER_SIZE, DEFAULT_BATCH_SIZE);
+  }
+
+  /**
+   * Gets the format written by this exporter.
+   */
+  public Format getFormat() {
+    return format;
+  }
+
+  /**
+   * Exports the result to the given channel, using a direct buffer.
+   * The channel is not closed.
+   *
+   * @param  out  the channel, which must be in blocking mode
+   *
+   * @return  the number of rows written
+   *
+   * @throws  IllegalArgumentException  when the channel is in non-blocking mode
+   */
+  public long export(Report.Result result, WritableByteChannel out) throws SQLException, IOException {
+    if (out instanceof SelectableChannel && !((SelectableChannel) out).isBlocking()) {
+      throw new IllegalArgumentException("Channel must be in blocking mode");
+    }
+    return export(result, new Sink(ByteBuffer.allocateDirect(bufferSize), out, null));
+  }
+
+  /**
+   * Exports the result to the given stream.
+   * The stream is flushed but not closed.
+   *
+   * @return  the number of rows written
+   */
+  public long export(Report.Result result, OutputStream out) throws SQLException, IOException {
+    // Heap buffer so its backing array may be written to the stream without copying
+    long rows = export(result, new Sink(ByteBuffer.allocate(bufferSize), null, out));
+    out.flush();
+    return rows;
+  }
+
+  private long export(Report.Result result, Sink sink) throws SQLException, IOException {
+    List<? extends Report.Column> columns = result.getColumns();
+    int columnCount = columns.size();
+    byte[][] names = new byte[columnCount][];
+    for (int i = 0; i < columnCount; i++) {
+      names[i] = columns.get(i).getName().getBytes(StandardCharsets.UTF_8);
+    }
+    long rows;
+    switch (format) {
+      case CSV:
+        rows = exportCsv(result, columnCount, names, sink);
+        break;
+      case JSON_LINES:
+        rows = exportJsonLines(result, columnCount, names, sink);
+        break;
+      case COLUMNAR:
+        rows = exportColumnar(result, columns, names, sink);
+        break;
+      default:
+        throw new AssertionError("Unexpected format: " + format);
+    }
+    sink.flush();
+    return rows;
+  }
+
+  private static SQLException wrongColumnCount(long row, int columnCount) {
+    return new SQLException("Row " + row + " does not have exactly " + columnCount + " values");
+  }
+
+  // <editor-fold desc="CSV">
+  private static long exportCsv(Report.Result result, int columnCount, byte[][] names, Sink sink) throws SQLException, IOException {
+    for (int i = 0; i < columnCount; i++) {
+      if (i != 0) {
+        sink.put((byte) ',');
+      }
+      putCsvField(sink, new String(names[i], StandardCharsets.UTF_8));
+    }
+    sink.put((byte) '\r');
+    sink.put((byte) '\n');
+    long rows = 0;
+    for (Iterable<?> row : result.getTableData()) {
+      int col = 0;
+      for (Object value : row) {
+        if (col == columnCount) {
+          throw wrongColumnCount(rows, columnCount);
+        }
+        if (col++ != 0) {
+          sink.put((byte) ',');
+        }
+        if (value instanceof Long || value instanceof Integer || value instanceof Short || value instanceof Byte) {
+          sink.putLong(((Number) value).longValue());
+        } else if (value instanceof CharSequence) {
+          putCsvField(sink, (CharSequence) value);
+        } else if (value != null) {
+          putCsvField(sink, value.toString());
+        }
+      }
+      if (col != columnCount) {
+        throw wrongColumnCount(rows, columnCount);
+      }
+      sink.put((byte) '\r');
+      sink.put((byte) '\n');
+      rows++;
+    }
+    return rows;
+  }
+
+  private static void putCsvField(Sink sink, CharSequence value) throws IOException {
+    int len = value.length();
+    boolean quote = false;
+    for (int i = 0; i < len; i++) {
+      char ch = value.charAt(i);
+      if (ch == ',' || ch == '"' || ch == '\r' || ch == '\n') {
+        quote = true;
+        break;
+      }
+    }
+    if (quote) {
+      sink.put((byte) '"');
+      for (int i = 0; i < len; i++) {
+        char ch = value.charAt(i);
+        if (ch == '"') {
+          sink.put((byte) '"');
+          sink.put((byte) '"');
+        } else {
+          i = sink.putChar(value, i, len);
+        }
+      }
+      sink.put((byte) '"');
+    } else {
+      sink.putChars(value);
+    }
+  }
+  // </editor-fold>
+
+  // <editor-fold desc="JSON Lines">
+  private static final byte[] JSON_NULL = {'n', 'u', 'l', 'l'};
+  private static final byte[] JSON_TRUE = {'t', 'r', 'u', 'e'};
+  private static final byte[] JSON_FALSE = {'f', 'a', 'l', 's', 'e'};
+  private static final byte[] HEX = {'0', '1', '2', '3', '4', '5', '6', '7', '8', '9', 'a', 'b', 'c', 'd', 'e', 'f'};
+
+  private static long exportJsonLines(Report.Result result, int columnCount, byte[][] names, Sink sink) throws SQLException, IOException {
+    // Pre-encode the quoted and escaped keys once
+    byte[][] keys = new byte[columnCount][];
+    for (int i = 0; i < columnCount; i++) {
+      StringBuilder key = new StringBuilder();
+      key.append(i == 0 ? '{' : ',');
+      appendJsonString(key, new String(names[i], StandardCharsets.UTF_8));
+      key.append(':');
+      keys[i] = key.toString().getBytes(StandardCharsets.UTF_8);
+    }
+    long rows = 0;
+    for (Iterable<?> row : result.getTableData()) {
+      int col = 0;
+      for (Object value : row) {
+        if (col == columnCount) {
+          throw wrongColumnCount(rows, columnCount);
+        }
+        sink.putBytes(keys[col++]);
+        if (value == null) {
+          sink.putBytes(JSON_NULL);
+        } else if (value instanceof Boolean) {
+          sink.putBytes((Boolean) value ? JSON_TRUE : JSON_FALSE);
+        } else if (value instanceof Long || value instanceof Integer || value instanceof Short || value instanceof Byte) {
+          sink.putLong(((Number) value).longValue());
+        } else if (value instanceof Number && isFinite((Number) value)) {
+          sink.putChars(value.toString());
+        } else if (value instanceof CharSequence) {
+          putJsonString(sink, (CharSequence) value);
+        } else {
+          putJsonString(sink, value.toString());
+        }
+      }
+      if (col != columnCount) {
+        throw wrongColumnCount(rows, columnCount);
+      }
+      if (columnCount == 0) {
+        sink.put((byte) '{');
+      }
+      sink.put((byte) '}');
+      sink.put((byte) '\n');
+      rows++;
+    }
+    return rows;
+  }
+
+  /**
+   * JSON has no representation for NaN or infinities, so they are written as strings.
+   */
+  private static boolean isFinite(Number value) {
+    if (value instanceof Double || value instanceof Float) {
+      return Double.isFinite(value.doubleValue());
+    }
+    return true;
+  }
+
+  private static void appendJsonString(StringBuilder out, CharSequence value) {
+    out.append('"');
+    for (int i = 0, len = value.length(); i < len; i++) {
+      char ch = value.charAt(i);
+      if (ch == '"' || ch == '\\') {
+        out.append('\\').append(ch);
+      } else if (ch < 0x20) {
+        out.append("\\u00").append((char) HEX[ch >> 4]).append((char) HEX[ch & 0xF]);
+      } else {
+        out.append(ch);
+      }
+    }
+    out.append('"');
+  }
+
+  private static void putJsonString(Sink sink, CharSequence value) throws IOException {
+    sink.put((byte) '"');
+    for (int i = 0, len = value.length(); i < len; i++) {
+      char ch = value.charAt(i);
+      if (ch == '"' || ch == '\\') {
+        sink.put((byte) '\\');
+        sink.put((byte) ch);
+      } else if (ch < 0x20) {
+        sink.ensureRemaining(6);
+        sink.buffer.put((byte) '\\').put((byte) 'u').put((byte) '0').put((byte) '0')
+            .put(HEX[ch >> 4]).put(HEX[ch & 0xF]);
+      } else {
+        i = sink.putChar(value, i, len);
+      }
+    }
+    sink.put((byte) '"');
+  }
+  // </editor-fold>
+
+  // <editor-fold desc="Columnar">
+  private long exportColumnar(Report.Result result, List<? extends Report.Column> columns, byte[][] names, Sink sink) throws SQLException, IOException {
+    int columnCount = names.length;
+    sink.putBytes(COLUMNAR_MAGIC);
+    sink.put(COLUMNAR_VERSION);
+    sink.putVarLong(columnCount);
+    for (int i = 0; i < columnCount; i++) {
+      sink.putVarLong(names[i].length);
+      sink.putBytes(names[i]);
+      Report.Alignment alignment = columns.get(i).getAlignment();
+      sink.put((byte) (alignment == null ? -1 : alignment.ordinal()));
+    }
+    // Only one batch of values is held at a time, and the arrays are reused between batches
+    Object[][] batch = new Object[columnCount][batchSize];
+    int batchRows = 0;
+    long rows = 0;
+    for (Iterable<?> row : result.getTableData()) {
+      Iterator<?> values = row.iterator();
+      for (int col = 0; col < columnCount; col++) {
+        if (!values.hasNext()) {
+          throw wrongColumnCount(rows, columnCount);
+        }
+        batch[col][batchRows] = values.next();
+      }
+      if (values.hasNext()) {
+        throw wrongColumnCount(rows, columnCount);
+      }
+      rows++;
+      if (++batchRows == batchSize) {
+        putBatch(sink, batch, batchRows);
+        batchRows = 0;
+      }
+    }
+    if (batchRows != 0) {
+      putBatch(sink, batch, batchRows);
+    }
+    sink.putVarLong(0);
+    return rows;
+  }
+
+  private static void putBatch(Sink sink, Object[][] batch, int batchRows) throws IOException {
+    sink.putVarLong(batchRows);
+    for (Object[] column : batch) {
+      for (int row = 0; row < batchRows; row++) {
+        Object value = column[row];
+        column[row] = null;
+        if (value == null) {
+          sink.put(TAG_NULL);
+        } else if (value instanceof Boolean) {
+          sink.put((Boolean) value ? TAG_TRUE : TAG_FALSE);
+        } else if (value instanceof Long || value instanceof Integer || value instanceof Short || value instanceof Byte) {
+          long l = ((Number) value).longValue();
+          sink.put(TAG_INTEGRAL);
+          sink.putVarLong((l << 1) ^ (l >> 63));
+        } else if (value instanceof Double || value instanceof Float) {
+          sink.ensureRemaining(Byte.BYTES + Double.BYTES);
+          sink.buffer.put(TAG_DOUBLE).putDouble(((Number) value).doubleValue());
+        } else {
+          CharSequence text = value instanceof CharSequence ? (CharSequence) value : value.toString();
+          sink.put(TAG_STRING);
+          sink.putVarLong(utf8Length(text));
+          sink.putChars(text);
+        }
+      }
+    }
+  }
+
+  /**
+   * Gets the number of bytes {@link Sink#putChars(java.lang.CharSequence)} will write.
+   */
+  private static long utf8Length(CharSequence value) {
+    long bytes = 0;
+    for (int i = 0, len = value.length(); i < len; i++) {
+      char ch = value.charAt(i);
+      if (ch < 0x80) {
+        bytes++;
+      } else if (ch < 0x800) {
+        bytes += 2;
+      } else if (Character.isSurrogate(ch)) {
+        if (Character.isHighSurrogate(ch) && i + 1 < len && Character.isLowSurrogate(value.charAt(i + 1))) {
+          bytes += 4;
+          i++;
+        } else {
+          bytes++;
+        }
+      } else {
+        bytes += 3;
+      }
+    }
+    return bytes;
+  }
+  // </editor-fold>
+
+  /**
+   * Encodes into a fixed buffer, draining it to the destination whenever it cannot hold the next write.
+   */
+  private static final class Sink {
+
+    private final ByteBuffer buffer;
+    private final WritableByteChannel channel;
+    private final OutputStream out;
+
+    private Sink(ByteBuffer buffer, WritableByteChannel channel, OutputStream out) {
+      this.buffer = buffer;
+      this.channel = channel;
+      this.out = out;
+    }
+
+    private void flush() throws IOException {
+      buffer.flip();
+      if (out != null) {
+        out.write(buffer.array(), buffer.arrayOffset() + buffer.position(), buffer.remaining());
+        buffer.position(buffer.limit());
+      } else {
+        // Blocking channels write at least one byte per call
+        while (buffer.hasRemaining()) {
+          channel.write(buffer);
+        }
+      }
+      buffer.clear();
+    }
+
+    private void ensureRemaining(int bytes) throws IOException {
+      if (buffer.remaining() < bytes) {
+        flush();
+      }
+    }
+
+    private void put(byte b) throws IOException {
+      if (!buffer.hasRemaining()) {
+        flush();
+      }
+      buffer.put(b);
+    }
+
+    /**
+     * Writes bytes that are already encoded, splitting across flushes as needed.
+     */
+    private void putBytes(byte[] bytes) throws IOException {
+      int off = 0;
+      while (off < bytes.length) {
+        if (!buffer.hasRemaining()) {
+          flush();
+        }
+        int len = Math.min(bytes.length - off, buffer.remaining());
+        buffer.put(bytes, off, len);
+        off += len;
+      }
+    }
+
+    private void putVarLong(long value) throws IOException {
+      ensureRemaining(MAX_ATOMIC_WRITE);
+      while ((value & ~0x7FL) != 0) {
+        buffer.put((byte) ((value & 0x7F) | 0x80));
+        value >>>= 7;
+      }
+      buffer.put((byte) value);
+    }
+
+    /**
+     * Writes a decimal integer without allocating.
+     */
+    private void putLong(long value) throws IOException {
+      if (value == Long.MIN_VALUE) {
+        putChars(Long.toString(value));
+        return;
+      }
+      ensureRemaining(MAX_ATOMIC_WRITE);
+      if (value < 0) {
+        buffer.put((byte) '-');
+        value = -value;
+      }
+      long divisor = 1;
+      while (divisor <= value / 10) {
+        divisor *= 10;
+      }
+      do {
+        buffer.put((byte) ('0' + (value / divisor)));
+        value %= divisor;
+        divisor /= 10;
+      } while (divisor > 0);
+    }
+
+    private void putChars(CharSequence value) throws IOException {
+      for (int i = 0, len = value.length(); i < len; i++) {
+        i = putChar(value, i, len);
+      }
+    }
+
+    /**
+     * Writes the character at the given index as UTF-8, consuming the following character when it completes a
+     * surrogate pair.  An unpaired surrogate is written as <code>'?'</code>, matching {@link String#getBytes(java.nio.charset.Charset)}.
+     *
+     * @return  the index of the last character consumed
+     */
+    private int putChar(CharSequence value, int i, int len) throws IOException {
+      char ch = value.charAt(i);
+      if (ch < 0x80) {
+        put((byte) ch);
+        return i;
+      }
+      ensureRemaining(4);
+      if (ch < 0x800) {
+        buffer.put((byte) (0xC0 | (ch >> 6)))
+            .put((byte) (0x80 | (ch & 0x3F)));
+      } else if (Character.isSurrogate(ch)) {
+        char low;
+        if (
+            Character.isHighSurrogate(ch)
+                && i + 1 < len
+                && Character.isLowSurrogate(low = value.charAt(i + 1))
+        ) {
+          int cp = Character.toCodePoint(ch, low);
+          buffer.put((byte) (0xF0 | (cp >> 18)))
+              .put((byte) (0x80 | ((cp >> 12) & 0x3F)))
+              .put((byte) (0x80 | ((cp >> 6) & 0x3F)))
+              .put((byte) (0x80 | (cp & 0x3F)));
+          return i + 1;
+        }
+        buffer.put((byte) '?');
+      } else {
+        buffer.put((byte) (0xE0 | (ch >> 12)))
+            .put((byte) (0x80 | ((ch >> 6) & 0x3F)))
+            .put((byte) (0x80 | (ch & 0x3F)));
+      }
+      return i;
+    }
+  }
+}
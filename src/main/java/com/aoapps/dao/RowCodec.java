@@ -0,0 +1,68 @@
+/*
+ * ao-dao-api - Simple data access objects framework API.
+ * Copyright (C) 2026  AO Industries, Inc.
+ *     support@aoindustries.com
+ *     7262 Bull Pen Cir
+ *     Mobile, AL 36695
+ *
+ * This file is part of ao-dao-api.
+ *
+ * ao-dao-api is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * ao-dao-api is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with ao-dao-api.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package com.aoapps.dao;
+
+import java.nio.ByteBuffer;
+
+/**
+ * Converts rows to and from a compact binary encoding, for storage outside of the heap or on disk.
+ *
+ * <p>An encoding must begin with the key, so that {@link RowCodec#decodeKey(java.nio.ByteBuffer)} may read only the
+ * key when searching.</p>
+ *
+ * @see  SnapshotFile
+ */
+public interface RowCodec<
+    K extends Comparable<? super K>,
+    R extends Row<K, ?>
+    > {
+
+  /**
+   * Writes the encoding of the row, starting at the buffer's position.
+   *
+   * @throws  java.nio.BufferOverflowException  when the buffer does not have enough space remaining, in which case
+   *                                             the caller retries with a larger buffer
+   */
+  void encode(R row, ByteBuffer out);
+
+  /**
+   * Reads a row previously written by {@link RowCodec#encode(com.aoapps.dao.Row, java.nio.ByteBuffer)}.
+   *
+   * <p>The buffer is positioned at the start of the encoding and limited to its end.  Implementations that decode
+   * lazily may retain the buffer, which is read-only and not modified by the caller afterwards.</p>
+   */
+  R decode(ByteBuffer in);
+
+  /**
+   * Reads only the key of a row previously written by
+   * {@link RowCodec#encode(com.aoapps.dao.Row, java.nio.ByteBuffer)}.
+   *
+   * <p>The buffer is positioned at the start of the encoding and limited to its end, but is not necessarily a slice
+   * and is reused by the caller afterwards, so must not be retained.  This default implementation decodes the entire
+   * row.</p>
+   */
+  default K decodeKey(ByteBuffer in) {
+    return decode(in).getKey();
+  }
+}
@@ -0,0 +1,343 @@
+/*
+ * ao-dao-api - Simple data access objects framework API.
+ * Copyright (C) 2026  AO Industries, Inc.
+ *     support@aoindustries.com
+ *     7262 Bull Pen Cir
+ *     Mobile, AL 36695
+ *
+ * This file is part of ao-dao-api.
+ *
+ * ao-dao-api is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * ao-dao-api is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with ao-dao-api.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package com.aoapps.dao;
+
+import java.io.IOException;
+import java.nio.BufferOverflowException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * Reads and writes the rows of a table as a local snapshot file, such as for a fast start without the database.
+ *
+ * <p>Rows are stored in key order, followed by an index of their offsets, so a file may also be searched by key
+ * directly from a memory mapping.  All integers are big-endian.  The layout is:</p>
+ *
+ * <pre>
+ * header:  "AODS" (4 bytes), format version (int), row count (int), flags (int), source version (long)
+ * rows:    row count * encoded row, sorted by key
+ * index:   (row count + 1) * offset of row from start of file (long), the last being the end of the rows
+ * footer:  offset of index (long), "AODS" (4 bytes)
+ * </pre>
+ *
+ * <p>The flag <code>1</code> is set when the rows are {@link Comparable} and their natural ordering matches the order
+ * of their keys, so the rows may also be searched in their natural ordering.  The flag <code>2</code> is set when the
+ * file was written with a source version, which identifies the version of the source the rows were loaded from.</p>
+ *
+ * <p>Files are written to a temporary file and then moved into place, so readers never see a partial file.
+ * Files are limited to 2 GiB.</p>
+ */
+public final class SnapshotFile {
+
+  /** Make no instances. */
+  private SnapshotFile() {
+    throw new AssertionError();
+  }
+
+  private static final int MAGIC = ('A' << 24) | ('O' << 16) | ('D' << 8) | 'S';
+  private static final int FORMAT_VERSION = 2;
+  static final int HEADER_SIZE = 4 * Integer.BYTES + Long.BYTES;
+  static final int FOOTER_SIZE = Long.BYTES + Integer.BYTES;
+  private static final int FLAG_NATURAL_ORDER = 1;
+  private static final int FLAG_SOURCE_VERSION = 2;
+
+  private static final int INITIAL_ROW_BUFFER_SIZE = 256;
+  private static final int WRITE_BUFFER_SIZE = 64 * 1024;
+
+  /**
+   * The largest encoding of a single row.  The buffer given to
+   * {@link RowCodec#encode(com.aoapps.dao.Row, java.nio.ByteBuffer)} is doubled on each overflow up to this size.
+   */
+  public static final int MAX_ROW_SIZE = 64 * 1024 * 1024;
+
+  /**
+   * Writes a snapshot file without a source version, replacing any existing file.
+   *
+   * @param  rows  the rows, in any order
+   *
+   * @return  the number of rows written
+   *
+   * @throws  IllegalArgumentException  when more than one row has the same key
+   * @throws  IOException  when the encoding of a row exceeds {@link SnapshotFile#MAX_ROW_SIZE}
+   */
+  public static <K extends Comparable<? super K>, R extends Row<K, ?>> int write(
+      Path file,
+      Collection<? extends R> rows,
+      RowCodec<K, R> codec
+  ) throws IOException {
+    return write(file, rows, codec, 0, false);
+  }
+
+  /**
+   * Writes a snapshot file, replacing any existing file.
+   *
+   * @param  rows           the rows, in any order
+   * @param  sourceVersion  the version of the source the rows were loaded from
+   *
+   * @return  the number of rows written
+   *
+   * @throws  IllegalArgumentException  when more than one row has the same key
+   * @throws  IOException  when the encoding of a row exceeds {@link SnapshotFile#MAX_ROW_SIZE}
+   */
+  public static <K extends Comparable<? super K>, R extends Row<K, ?>> int write(
+      Path file,
+      Collection<? extends R> rows,
+      RowCodec<K, R> codec,
+      long sourceVersion
+  ) throws IOException {
+    return write(file, rows, codec, sourceVersion, true);
+  }
+
+  private static <K extends Comparable<? super K>, R extends Row<K, ?>> int write(
+      Path file,
+      Collection<? extends R> rows,
+      RowCodec<K, R> codec,
+      long sourceVersion,
+      boolean hasSourceVersion
+  ) throws IOException {
+    List<R> sorted = new ArrayList<>(rows);
+    sorted.sort(Comparator.comparing(Row::getKey));
+    int count = sorted.size();
+    int flags = isNaturalOrder(sorted) ? FLAG_NATURAL_ORDER : 0;
+    if (hasSourceVersion) {
+      flags |= FLAG_SOURCE_VERSION;
+    }
+    long[] offsets = new long[count + 1];
+    Path dir = file.toAbsolutePath().getParent();
+    Path temp = Files.createTempFile(dir, file.getFileName().toString(), ".tmp");
+    try {
+      try (FileChannel channel = FileChannel.open(temp, StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+        ByteBuffer out = ByteBuffer.allocateDirect(WRITE_BUFFER_SIZE);
+        out.putInt(MAGIC).putInt(FORMAT_VERSION).putInt(count).putInt(flags).putLong(sourceVersion);
+        long position = HEADER_SIZE;
+        ByteBuffer row = ByteBuffer.allocate(INITIAL_ROW_BUFFER_SIZE);
+        K lastKey = null;
+        for (int i = 0; i < count; i++) {
+          R r = sorted.get(i);
+          K key = r.getKey();
+          if (lastKey != null && lastKey.compareTo(key) == 0) {
+            throw new IllegalArgumentException("Duplicate key: " + key);
+          }
+          lastKey = key;
+          while (true) {
+            row.clear();
+            try {
+              codec.encode(r, row);
+              break;
+            } catch (BufferOverflowException e) {
+              int capacity = row.capacity();
+              if (capacity >= MAX_ROW_SIZE) {
+                throw new IOException("Encoding of row exceeds " + MAX_ROW_SIZE + " bytes: " + key, e);
+              }
+              row = ByteBuffer.allocate(Math.min(capacity * 2, MAX_ROW_SIZE));
+            }
+          }
+          row.flip();
+          offsets[i] = position;
+          position += row.remaining();
+          while (row.hasRemaining()) {
+            if (!out.hasRemaining()) {
+              drain(out, channel);
+            }
+            int len = Math.min(row.remaining(), out.remaining());
+            ByteBuffer chunk = row.duplicate();
+            chunk.limit(chunk.position() + len);
+            out.put(chunk);
+            row.position(row.position() + len);
+          }
+        }
+        offsets[count] = position;
+        long indexOffset = position;
+        for (long offset : offsets) {
+          if (out.remaining() < Long.BYTES) {
+            drain(out, channel);
+          }
+          out.putLong(offset);
+        }
+        if (out.remaining() < FOOTER_SIZE) {
+          drain(out, channel);
+        }
+        out.putLong(indexOffset).putInt(MAGIC);
+        drain(out, channel);
+        if (channel.size() > Integer.MAX_VALUE) {
+          throw new IOException("Snapshot file too large: " + channel.size());
+        }
+        channel.force(true);
+      }
+      try {
+        Files.move(temp, file, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+      } catch (AtomicMoveNotSupportedException e) {
+        Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING);
+      }
+      temp = null;
+    } finally {
+      if (temp != null) {
+        Files.deleteIfExists(temp);
+      }
+    }
+    return count;
+  }
+
+  @SuppressWarnings("unchecked")
+  private static boolean isNaturalOrder(List<?> sorted) {
+    Object last = null;
+    for (Object row : sorted) {
+      if (!(row instanceof Comparable)) {
+        return false;
+      }
+      if (last != null && ((Comparable<Object>) last).compareTo(row) >= 0) {
+        return false;
+      }
+      last = row;
+    }
+    return true;
+  }
+
+  private static void drain(ByteBuffer out, FileChannel channel) throws IOException {
+    out.flip();
+    while (out.hasRemaining()) {
+      channel.write(out);
+    }
+    out.clear();
+  }
+
+  /**
+   * Maps a snapshot file read-only and validates its structure.
+   *
+   * @return  the mapping, which remains valid after the file is replaced or deleted
+   */
+  static MappedByteBuffer map(Path file) throws IOException {
+    MappedByteBuffer buffer;
+    try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+      long size = channel.size();
+      if (size > Integer.MAX_VALUE) {
+        throw new IOException("Snapshot file too large: " + file);
+      }
+      if (size < HEADER_SIZE + Long.BYTES + FOOTER_SIZE) {
+        throw new IOException("Snapshot file truncated: " + file);
+      }
+      buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, size);
+    }
+    int size = buffer.capacity();
+    if (
+        buffer.getInt(0) != MAGIC
+            || buffer.getInt(size - Integer.BYTES) != MAGIC
+    ) {
+      throw new IOException("Not a snapshot file: " + file);
+    }
+    int version = buffer.getInt(Integer.BYTES);
+    if (version != FORMAT_VERSION) {
+      throw new IOException("Unsupported snapshot format version " + version + ": " + file);
+    }
+    int count = getRowCount(buffer);
+    long indexOffset = buffer.getLong(size - FOOTER_SIZE);
+    if (
+        count < 0
+            || indexOffset < HEADER_SIZE
+            || indexOffset + (count + 1L) * Long.BYTES != size - FOOTER_SIZE
+    ) {
+      throw new IOException("Snapshot file corrupt: " + file);
+    }
+    return buffer;
+  }
+
+  /**
+   * Gets the number of rows in a file mapped by {@link SnapshotFile#map(java.nio.file.Path)}.
+   */
+  static int getRowCount(ByteBuffer buffer) {
+    return buffer.getInt(2 * Integer.BYTES);
+  }
+
+  /**
+   * Checks if the rows of a file mapped by {@link SnapshotFile#map(java.nio.file.Path)} are also in their natural
+   * ordering.
+   */
+  static boolean isNaturalOrder(ByteBuffer buffer) {
+    return (buffer.getInt(3 * Integer.BYTES) & FLAG_NATURAL_ORDER) != 0;
+  }
+
+  /**
+   * Gets the source version of a file mapped by {@link SnapshotFile#map(java.nio.file.Path)}.
+   *
+   * @return  the source version or <code>null</code> when written without one
+   */
+  static Long getSourceVersion(ByteBuffer buffer) {
+    if ((buffer.getInt(3 * Integer.BYTES) & FLAG_SOURCE_VERSION) == 0) {
+      return null;
+    }
+    return buffer.getLong(4 * Integer.BYTES);
+  }
+
+  /**
+   * Gets the offset of the index in a file mapped by {@link SnapshotFile#map(java.nio.file.Path)}.
+   */
+  static int getIndexOffset(ByteBuffer buffer) {
+    return (int) buffer.getLong(buffer.capacity() - FOOTER_SIZE);
+  }
+
+  /**
+   * Gets the offset of the start of one row, or of the end of the rows when <code>index</code> is the row count.
+   */
+  static int getRowOffset(ByteBuffer buffer, int indexOffset, int index) {
+    return (int) buffer.getLong(indexOffset + index * Long.BYTES);
+  }
+
+  /**
+   * Gets a read-only view of the encoding of one row of a file mapped by
+   * {@link SnapshotFile#map(java.nio.file.Path)}.
+   */
+  static ByteBuffer getRow(ByteBuffer buffer, int indexOffset, int index) {
+    int start = getRowOffset(buffer, indexOffset, index);
+    int end = getRowOffset(buffer, indexOffset, index + 1);
+    ByteBuffer row = buffer.asReadOnlyBuffer();
+    row.limit(end).position(start);
+    return row.slice();
+  }
+
+  /**
+   * Reads all rows of a snapshot file.
+   *
+   * @return  the rows, sorted by key
+   */
+  public static <K extends Comparable<? super K>, R extends Row<K, ?>> List<R> read(Path file, RowCodec<K, R> codec) throws IOException {
+    ByteBuffer buffer = map(file);
+    int count = getRowCount(buffer);
+    int indexOffset = getIndexOffset(buffer);
+    List<R> rows = new ArrayList<>(count);
+    for (int i = 0; i < count; i++) {
+      rows.add(codec.decode(getRow(buffer, indexOffset, i)));
+    }
+    return rows;
+  }
+}
@@ -0,0 +1,179 @@
+/*
+ * ao-dao-api - Simple data access objects framework API.
+ * Copyright (C) 2026  AO Industries, Inc.
+ *     support@aoindustries.com
+ *     7262 Bull Pen Cir
+ *     Mobile, AL 36695
+ *
+ * This file is part of ao-dao-api.
+ *
+ * ao-dao-api is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * ao-dao-api is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with ao-dao-api.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package com.aoapps.dao;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.function.ToIntFunction;
+
+/**
+ * Reuses the prepared statements of one connection, such as those of the lookups of
+ * {@link Table#get(java.lang.Comparable)}, {@link Table#getRows(java.lang.Iterable)}, and
+ * {@link Table#getOrderedRows(java.lang.Iterable)}, so the SQL is parsed and planned once per connection instead of
+ * once per call.
+ *
+ * <p>An implementation of {@link Model#transactionCall(java.lang.Class, com.aoapps.lang.concurrent.CallableE)}
+ * creates a cache with each connection it obtains, makes it available to its tables for the duration of the
+ * transaction, and closes it before releasing the connection.  When connections are pooled, a cache may instead be
+ * kept with its connection for as long as the connection remains open.</p>
+ *
+ * <p>Each table has its own least-recently-used set of statements, of a size configured per table.  Reuse is
+ * recorded in the {@link TableMetrics} of each table.</p>
+ *
+ * <p>This class is not thread-safe, as with the connection itself.</p>
+ */
+public final class StatementCache implements AutoCloseable {
+
+  /**
+   * The default maximum number of statements cached for each table.
+   */
+  public static final int DEFAULT_MAX_STATEMENTS = 16;
+
+  private final Connection conn;
+  private final ToIntFunction<? super String> maxStatements;
+  private final ModelMetrics metrics;
+  private final Map<String, LinkedHashMap<String, PreparedStatement>> tables = new HashMap<>();
+  private boolean closed;
+
+  /**
+   * @param  maxStatements  gets the maximum number of statements cached for a table, by table name, which must be at
+   *                        least one
+   * @param  metrics        receives the statement reuse of each table or <code>null</code> for none
+   */
+  public StatementCache(Connection conn, ToIntFunction<? super String> maxStatements, ModelMetrics metrics) {
+    this.conn = conn;
+    this.maxStatements = maxStatements;
+    this.metrics = metrics;
+  }
+
+  /**
+   * Caches up to {@link StatementCache#DEFAULT_MAX_STATEMENTS} for each table.
+   */
+  public StatementCache(Connection conn, ModelMetrics metrics) {
+    this(conn, tableName -> DEFAULT_MAX_STATEMENTS, metrics);
+  }
+
+  /**
+   * Gets the connection the statements are prepared on.
+   */
+  public Connection getConnection() {
+    return conn;
+  }
+
+  /**
+   * Gets a prepared statement for a table, reusing one previously prepared with the same SQL.  The parameters of a
+   * reused statement are cleared.
+   *
+   * <p>The statement remains owned by this cache and must not be closed.  It may be closed by this cache the next
+   * time a statement is prepared for the same table, so should be used before preparing another.</p>
+   *
+   * <p>The same SQL on one table must not be used reentrantly.  A request for the same SQL on the same table returns
+   * the same statement while it is cached, even when still in use, such as by a lookup on the same table while
+   * iterating the result set of the statement.  Executing it again closes the result set of the outer use.</p>
+   *
+   * @throws  SQLException  when this cache is closed or the statement cannot be prepared
+   * @throws  IllegalArgumentException  when the maximum number of statements for the table is less than one
+   */
+  public PreparedStatement prepareStatement(String tableName, String sql) throws SQLException {
+    if (closed) {
+      throw new SQLException("StatementCache is closed");
+    }
+    TableMetrics tableMetrics = metrics == null ? null : metrics.getTable(tableName);
+    LinkedHashMap<String, PreparedStatement> statements = tables.computeIfAbsent(
+        tableName,
+        name -> new LinkedHashMap<>(16, 0.75f, true)
+    );
+    PreparedStatement pstmt = statements.get(sql);
+    if (pstmt != null) {
+      if (!pstmt.isClosed()) {
+        pstmt.clearParameters();
+        if (tableMetrics != null) {
+          tableMetrics.recordStatementReused();
+        }
+        return pstmt;
+      }
+      statements.remove(sql);
+    }
+    int max = maxStatements.applyAsInt(tableName);
+    if (max <= 0) {
+      // A statement that is not cached would never be closed
+      throw new IllegalArgumentException("maxStatements <= 0 for " + tableName + ": " + max);
+    }
+    Iterator<PreparedStatement> eldest = statements.values().iterator();
+    while (statements.size() >= max && eldest.hasNext()) {
+      PreparedStatement evicted = eldest.next();
+      eldest.remove();
+      evicted.close();
+    }
+    pstmt = conn.prepareStatement(sql);
+    statements.put(sql, pstmt);
+    if (tableMetrics != null) {
+      tableMetrics.recordStatementPrepared();
+    }
+    return pstmt;
+  }
+
+  /**
+   * Gets the number of statements currently cached.
+   */
+  public int size() {
+    int size = 0;
+    for (Map<String, PreparedStatement> statements : tables.values()) {
+      size += statements.size();
+    }
+    return size;
+  }
+
+  /**
+   * Closes all cached statements, but not the connection.  The first failure to close a statement is thrown after
+   * attempting to close the rest.
+   */
+  @Override
+  public void close() throws SQLException {
+    closed = true;
+    SQLException failure = null;
+    for (Map<String, PreparedStatement> statements : tables.values()) {
+      for (PreparedStatement pstmt : statements.values()) {
+        try {
+          pstmt.close();
+        } catch (SQLException e) {
+          if (failure == null) {
+            failure = e;
+          } else {
+            failure.addSuppressed(e);
+          }
+        }
+      }
+    }
+    tables.clear();
+    if (failure != null) {
+      throw failure;
+    }
+  }
+}
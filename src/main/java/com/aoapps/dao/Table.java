@@ -1,6 +1,6 @@
 /*
  * ao-dao-api - Simple data access objects framework API.
- * Copyright (C) 2011, 2012, 2013, 2015, 2016, 2020, 2021, 2022, 2023, 2024  AO Industries, Inc.
+ * Copyright (C) 2011, 2012, 2013, 2015, 2016, 2020, 2021, 2022, 2023, 2024, 2026  AO Industries, Inc.
  *     support@aoindustries.com
  *     7262 Bull Pen Cir
  *     Mobile, AL 36695
@@ -28,13 +28,17 @@ import com.aoapps.lang.exception.WrappedException;
 import java.sql.SQLException;
 import java.util.Collection;
 import java.util.Collections;
+import java.util.HashMap;
 import java.util.Iterator;
+import java.util.LinkedHashMap;
 import java.util.LinkedHashSet;
 import java.util.Map;
 import java.util.Set;
 import java.util.SortedMap;
 import java.util.SortedSet;
+import java.util.TreeMap;
 import java.util.TreeSet;
+import java.util.function.Function;
 
 /**
  * One table in the database.
@@ -49,11 +53,43 @@ public interface Table<
    */
   Model getModel();
 
+  /**
+   * Gets the metrics for this table.
+   * Implementations should record {@link Table#get(java.lang.Comparable)}, cache activity, and
+   * {@link Table#tableUpdated()}; the default implementations of {@link Table#getOrderedRows(java.lang.Iterable)}
+   * and {@link Table#getRows(java.lang.Iterable)} record themselves.
+   *
+   * @return  the metrics or <code>null</code> when this table is not instrumented
+   *
+   * @see  Model#getMetrics()
+   */
+  default TableMetrics getMetrics() {
+    // This default implementation looks up by name in the model metrics.
+    ModelMetrics modelMetrics = getModel().getMetrics();
+    return modelMetrics == null ? null : modelMetrics.getTable(getName());
+  }
+
+  /**
+   * Gets the feed of changes to the rows of this table.
+   *
+   * <p>Implementations should publish a change for each row inserted, updated, or removed once committed, and a
+   * {@linkplain ChangeFeed#reset() reset} on {@link Table#tableUpdated()} when the changed rows are not known.</p>
+   *
+   * @return  the feed or <code>null</code> when changes are not available.  This default implementation returns
+   *          <code>null</code>.
+   */
+  default ChangeFeed<K> getChangeFeed() {
+    return null;
+  }
+
   /**
    * Clears the caches for this table that apply to the current thread.
    * This is used to end a caching session, generally short-term and associated
    * with a single request or process.
    *
+   * <p>Long-running sessions should use a {@link BoundedCache}, with the {@linkplain Model#getCacheBudget() budget of
+   * the model}, so one session cannot cache entire tables.</p>
+   *
    * <p>Any overriding method should call super.clearCaches().</p>
    */
   default void clearCaches() {
@@ -233,6 +269,9 @@ public interface Table<
    * insensitive matching, the key may have upper-case and lower-case matches,
    * while the canonicalKey will convert to one format for matching.  Any
    * matches are performed on the canonical form the the query.
+   *
+   * <p>This is called on every lookup.  Implementations that allocate a new key, such as case-insensitive
+   * matching, should use a {@link CanonicalKeyCache}.</p>
    */
   default K canonicalize(K key) {
     // This default implementation returns the key unmodified.
@@ -263,16 +302,24 @@ public interface Table<
    * @throws SQLException if database error occurs
    */
   default Set<? extends R> getOrderedRows(Iterable<? extends K> keys) throws NoRowException, SQLException {
-    // This implementation iterates through the keys calling get.
-    Iterator<? extends K> iter = keys.iterator();
-    if (!iter.hasNext()) {
-      return Collections.emptySet();
+    TableMetrics metrics = getMetrics();
+    long startNanos = metrics == null ? 0 : System.nanoTime();
+    try {
+      // This implementation iterates through the keys calling get.
+      Iterator<? extends K> iter = keys.iterator();
+      if (!iter.hasNext()) {
+        return Collections.emptySet();
+      }
+      Set<R> results = new LinkedHashSet<>();
+      do {
+        results.add(get(iter.next()));
+      } while (iter.hasNext());
+      return Collections.unmodifiableSet(results);
+    } finally {
+      if (metrics != null) {
+        metrics.getOrderedRows().recordSince(startNanos);
+      }
     }
-    Set<R> results = new LinkedHashSet<>();
-    do {
-      results.add(get(iter.next()));
-    } while (iter.hasNext());
-    return Collections.unmodifiableSet(results);
   }
 
   // TODO: getOrderedRowsOptional
@@ -289,17 +336,136 @@ public interface Table<
    * @throws SQLException if database error occurs
    */
   default SortedSet<? extends R> getRows(Iterable<? extends K> keys) throws NoRowException, SQLException {
-    // This implementation iterates through the keys calling get.
-    Iterator<? extends K> iter = keys.iterator();
-    if (!iter.hasNext()) {
-      return Collections.emptySortedSet();
+    TableMetrics metrics = getMetrics();
+    long startNanos = metrics == null ? 0 : System.nanoTime();
+    try {
+      // This implementation iterates through the keys calling get.
+      Iterator<? extends K> iter = keys.iterator();
+      if (!iter.hasNext()) {
+        return Collections.emptySortedSet();
+      }
+      SortedSet<R> results = new TreeSet<>();
+      do {
+        results.add(get(iter.next()));
+      } while (iter.hasNext());
+      return Collections.unmodifiableSortedSet(results);
+    } finally {
+      if (metrics != null) {
+        metrics.getRows().recordSince(startNanos);
+      }
     }
-    SortedSet<R> results = new TreeSet<>();
-    do {
-      results.add(get(iter.next()));
-    } while (iter.hasNext());
-    return Collections.unmodifiableSortedSet(results);
   }
 
   // TODO: getRowsOptional
+
+  /**
+   * Loads the rows of this table referenced by a group of rows, typically of another table, with one batched
+   * lookup.  This avoids one lookup per row when walking a relationship in a loop over
+   * {@link Table#getRows()}:
+   *
+   * <pre>SortedSet&lt;? extends Order&gt; orders = orderTable.getRows();
+   * Map&lt;Integer, ? extends Customer&gt; customers = customerTable.prefetch(orders, Order::getCustomerId);</pre>
+   *
+   * <p>The distinct foreign keys are looked-up with a single call to
+   * {@link Table#getOrderedRows(java.lang.Iterable)}, which implementations with a caching session should perform
+   * as a single query that also caches the rows, so later calls to {@link Table#get(java.lang.Comparable)} are
+   * served from the cache.  The default implementation of {@link Table#getOrderedRows(java.lang.Iterable)} calls
+   * {@link Table#get(java.lang.Comparable)} for each key, so there is no batching unless it is overridden.</p>
+   *
+   * @param  foreignKey  gets the key of the referenced row or <code>null</code> when none
+   *
+   * @return  the referenced rows by the keys returned by <code>foreignKey</code>, in the order first referenced.
+   *          Keys with the same {@linkplain Table#canonicalize(java.lang.Comparable) canonical form} are looked-up
+   *          once and map to the same row.
+   *
+   * @throws NoRowException if any referenced row is not found
+   * @throws SQLException if database error occurs
+   */
+  default <S> Map<K, R> prefetch(
+      Iterable<? extends S> rows,
+      Function<? super S, ? extends K> foreignKey
+  ) throws NoRowException, SQLException {
+    // The canonical form of each distinct key, in the order first referenced
+    Map<K, K> canonicalKeys = new LinkedHashMap<>();
+    for (S row : rows) {
+      K key = foreignKey.apply(row);
+      if (key != null && !canonicalKeys.containsKey(key)) {
+        canonicalKeys.put(key, canonicalize(key));
+      }
+    }
+    if (canonicalKeys.isEmpty()) {
+      return Collections.emptyMap();
+    }
+    Map<K, R> byCanonicalKey = new HashMap<>();
+    for (R row : getOrderedRows(new LinkedHashSet<>(canonicalKeys.values()))) {
+      byCanonicalKey.put(canonicalize(row.getKey()), row);
+    }
+    Map<K, R> results = new LinkedHashMap<>();
+    for (Map.Entry<K, K> entry : canonicalKeys.entrySet()) {
+      results.put(entry.getKey(), byCanonicalKey.get(entry.getValue()));
+    }
+    return Collections.unmodifiableMap(results);
+  }
+
+  /**
+   * Gets views of all rows limited to the columns of a projection, sorted by key.
+   *
+   * <p>This is an unmodifiable snapshot of the data and will not change over time.
+   * It may be iterated multiple times with the same results.  The contents
+   * are not changed by the transactions of the current user or any other user.</p>
+   *
+   * <p>This default implementation projects the full rows of {@link Table#getUnsortedRows()}.  Implementations that
+   * can load only the {@linkplain Projection#getColumns() columns of the projection} should override this.</p>
+   */
+  default <P> SortedMap<K, P> getProjected(Projection<? super R, ? extends P> projection) throws SQLException {
+    SortedMap<K, P> results = new TreeMap<>();
+    for (R row : getUnsortedRows()) {
+      results.put(row.getKey(), projection.project(row));
+    }
+    return Collections.unmodifiableSortedMap(results);
+  }
+
+  /**
+   * Gets views of the rows corresponding to the keys, limited to the columns of a projection, in the same order as
+   * the keys iterator.
+   *
+   * <p>This is an unmodifiable snapshot of the data and will not change over time.
+   * It may be iterated multiple times with the same results.  The contents
+   * are not changed by the transactions of the current user or any other user.</p>
+   *
+   * <p>This default implementation projects the full rows of {@link Table#getOrderedRows(java.lang.Iterable)}.
+   * Implementations that can load only the {@linkplain Projection#getColumns() columns of the projection} should
+   * override this.</p>
+   *
+   * @return  the projected rows by the given keys.  Keys with the same
+   *          {@linkplain Table#canonicalize(java.lang.Comparable) canonical form} are looked-up and projected once
+   *          and map to the same view.
+   *
+   * @throws NoRowException if any key is not found
+   * @throws SQLException if database error occurs
+   */
+  default <P> Map<K, P> getProjected(
+      Iterable<? extends K> keys,
+      Projection<? super R, ? extends P> projection
+  ) throws NoRowException, SQLException {
+    // The canonical form of each distinct key, in the order of the keys iterator
+    Map<K, K> canonicalKeys = new LinkedHashMap<>();
+    for (K key : keys) {
+      if (!canonicalKeys.containsKey(key)) {
+        canonicalKeys.put(key, canonicalize(key));
+      }
+    }
+    if (canonicalKeys.isEmpty()) {
+      return Collections.emptyMap();
+    }
+    Map<K, P> byCanonicalKey = new HashMap<>();
+    for (R row : getOrderedRows(new LinkedHashSet<>(canonicalKeys.values()))) {
+      byCanonicalKey.put(canonicalize(row.getKey()), projection.project(row));
+    }
+    Map<K, P> results = new LinkedHashMap<>();
+    for (Map.Entry<K, K> entry : canonicalKeys.entrySet()) {
+      results.put(entry.getKey(), byCanonicalKey.get(entry.getValue()));
+    }
+    return Collections.unmodifiableMap(results);
+  }
 }
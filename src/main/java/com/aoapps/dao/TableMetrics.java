@@ -0,0 +1,259 @@
+/*
+ * ao-dao-api - Simple data access objects framework API.
+ * Copyright (C) 2026  AO Industries, Inc.
+ *     support@aoindustries.com
+ *     7262 Bull Pen Cir
+ *     Mobile, AL 36695
+ *
+ * This file is part of ao-dao-api.
+ *
+ * ao-dao-api is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * ao-dao-api is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with ao-dao-api.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package com.aoapps.dao;
+
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Counters and latencies for one {@link Table}.
+ *
+ * @see  Table#getMetrics()
+ */
+public final class TableMetrics {
+
+  private final String name;
+  private final OperationStats get = new OperationStats();
+  private final OperationStats getRows = new OperationStats();
+  private final OperationStats getOrderedRows = new OperationStats();
+  private final LongAdder cacheHits = new LongAdder();
+  private final LongAdder cacheMisses = new LongAdder();
+  private final LongAdder cacheEvictions = new LongAdder();
+  private final LongAdder tableUpdated = new LongAdder();
+  private final LongAdder statementsPrepared = new LongAdder();
+  private final LongAdder statementsReused = new LongAdder();
+
+  /**
+   * Creates new metrics for the table of the given name.
+   */
+  public TableMetrics(String name) {
+    this.name = name;
+  }
+
+  /**
+   * Gets the name of the table.
+   */
+  public String getName() {
+    return name;
+  }
+
+  /**
+   * Gets the statistics for {@link Table#get(java.lang.Comparable)}.
+   */
+  public OperationStats get() {
+    return get;
+  }
+
+  /**
+   * Gets the statistics for {@link Table#getRows(java.lang.Iterable)}.
+   */
+  public OperationStats getRows() {
+    return getRows;
+  }
+
+  /**
+   * Gets the statistics for {@link Table#getOrderedRows(java.lang.Iterable)}.
+   */
+  public OperationStats getOrderedRows() {
+    return getOrderedRows;
+  }
+
+  /**
+   * Records a lookup that was served from cache.
+   */
+  public void recordCacheHit() {
+    cacheHits.increment();
+  }
+
+  /**
+   * Records a lookup that was not served from cache.
+   */
+  public void recordCacheMiss() {
+    cacheMisses.increment();
+  }
+
+  /**
+   * Records the eviction of an entry from cache.
+   */
+  public void recordCacheEviction() {
+    cacheEvictions.increment();
+  }
+
+  /**
+   * Records a call to {@link Table#tableUpdated()}.
+   */
+  public void recordTableUpdated() {
+    tableUpdated.increment();
+  }
+
+  /**
+   * Records a statement that was prepared because it was not in a {@link StatementCache}.
+   */
+  public void recordStatementPrepared() {
+    statementsPrepared.increment();
+  }
+
+  /**
+   * Records a statement that was reused from a {@link StatementCache}.
+   */
+  public void recordStatementReused() {
+    statementsReused.increment();
+  }
+
+  /**
+   * Gets a point-in-time copy of these metrics.
+   */
+  public Snapshot getSnapshot() {
+    return new Snapshot(
+        name,
+        get.getSnapshot(),
+        getRows.getSnapshot(),
+        getOrderedRows.getSnapshot(),
+        cacheHits.sum(),
+        cacheMisses.sum(),
+        cacheEvictions.sum(),
+        tableUpdated.sum(),
+        statementsPrepared.sum(),
+        statementsReused.sum()
+    );
+  }
+
+  /**
+   * An immutable copy of {@link TableMetrics}.
+   */
+  public static final class Snapshot {
+
+    private final String name;
+    private final OperationStats.Snapshot get;
+    private final OperationStats.Snapshot getRows;
+    private final OperationStats.Snapshot getOrderedRows;
+    private final long cacheHits;
+    private final long cacheMisses;
+    private final long cacheEvictions;
+    private final long tableUpdated;
+    private final long statementsPrepared;
+    private final long statementsReused;
+
+    private Snapshot(
+        String name,
+        OperationStats.Snapshot get,
+        OperationStats.Snapshot getRows,
+        OperationStats.Snapshot getOrderedRows,
+        long cacheHits,
+        long cacheMisses,
+        long cacheEvictions,
+        long tableUpdated,
+        long statementsPrepared,
+        long statementsReused
+    ) {
+      this.name = name;
+      this.get = get;
+      this.getRows = getRows;
+      this.getOrderedRows = getOrderedRows;
+      this.cacheHits = cacheHits;
+      this.cacheMisses = cacheMisses;
+      this.cacheEvictions = cacheEvictions;
+      this.tableUpdated = tableUpdated;
+      this.statementsPrepared = statementsPrepared;
+      this.statementsReused = statementsReused;
+    }
+
+    /**
+     * Gets the name of the table.
+     */
+    public String getName() {
+      return name;
+    }
+
+    /**
+     * Gets the statistics for {@link Table#get(java.lang.Comparable)}.
+     */
+    public OperationStats.Snapshot getGet() {
+      return get;
+    }
+
+    /**
+     * Gets the statistics for {@link Table#getRows(java.lang.Iterable)}.
+     */
+    public OperationStats.Snapshot getGetRows() {
+      return getRows;
+    }
+
+    /**
+     * Gets the statistics for {@link Table#getOrderedRows(java.lang.Iterable)}.
+     */
+    public OperationStats.Snapshot getGetOrderedRows() {
+      return getOrderedRows;
+    }
+
+    /**
+     * Gets the number of lookups served from cache.
+     */
+    public long getCacheHits() {
+      return cacheHits;
+    }
+
+    /**
+     * Gets the number of lookups not served from cache.
+     */
+    public long getCacheMisses() {
+      return cacheMisses;
+    }
+
+    /**
+     * Gets the number of entries evicted from cache.
+     */
+    public long getCacheEvictions() {
+      return cacheEvictions;
+    }
+
+    /**
+     * Gets the number of calls to {@link Table#tableUpdated()}.
+     */
+    public long getTableUpdated() {
+      return tableUpdated;
+    }
+
+    /**
+     * Gets the number of statements prepared because they were not in a {@link StatementCache}.
+     */
+    public long getStatementsPrepared() {
+      return statementsPrepared;
+    }
+
+    /**
+     * Gets the number of statements reused from a {@link StatementCache}.
+     */
+    public long getStatementsReused() {
+      return statementsReused;
+    }
+
+    /**
+     * Gets the portion of statements reused from a {@link StatementCache}, from zero to one.
+     */
+    public double getStatementReuseRatio() {
+      long total = statementsPrepared + statementsReused;
+      return total == 0 ? 0 : (double) statementsReused / total;
+    }
+  }
+}
@@ -1,6 +1,6 @@
 /*
  * ao-dao-api - Simple data access objects framework API.
- * Copyright (C) 2013, 2015, 2016, 2020, 2021, 2022, 2024  AO Industries, Inc.
+ * Copyright (C) 2013, 2015, 2016, 2020, 2021, 2022, 2024, 2026  AO Industries, Inc.
  *     support@aoindustries.com
  *     7262 Bull Pen Cir
  *     Mobile, AL 36695
@@ -34,9 +34,32 @@ public interface Tuple<
 
   /**
    * Gets an array of all column values.
+   *
+   * <p>This is a new array on each call.  To access columns without allocation,
+   * see {@link Tuple#getColumnCount()} and {@link Tuple#getColumn(int)}.</p>
    */
   Comparable<?>[] getColumns();
 
+  /**
+   * Gets the number of columns.
+   *
+   * <p>Implementations should override this to avoid the array created by the default implementation.</p>
+   */
+  default int getColumnCount() {
+    return getColumns().length;
+  }
+
+  /**
+   * Gets the value of the column at the given zero-based index.
+   *
+   * <p>Implementations should override this to avoid the array created by the default implementation.</p>
+   *
+   * @throws IndexOutOfBoundsException when <code>index &lt; 0</code> or <code>index &gt;= getColumnCount()</code>
+   */
+  default Comparable<?> getColumn(int index) {
+    return getColumns()[index];
+  }
+
   /**
    * Based on the column values (column1,column2,...).
    */
@@ -59,7 +82,7 @@ public interface Tuple<
    * The default ordering is based on column value comparisons.  If both values
    * are Strings, will use {@linkplain Model#getComparator() the model comparator}.
    *
-   * <p>If one tuple has few columns than the other, and all the values are equal,
+   * <p>If one tuple has fewer columns than the other, and all the values are equal,
    * the tuple with fewer columns is considered to be first.</p>
    */
   // @Override
@@ -0,0 +1,103 @@
+/*
+ * ao-dao-api - Simple data access objects framework API.
+ * Copyright (C) 2026  AO Industries, Inc.
+ *     support@aoindustries.com
+ *     7262 Bull Pen Cir
+ *     Mobile, AL 36695
+ *
+ * This file is part of ao-dao-api.
+ *
+ * ao-dao-api is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * ao-dao-api is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with ao-dao-api.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package com.aoapps.dao;
+
+import java.sql.SQLException;
+import java.util.SortedSet;
+
+/**
+ * A table with a three-column compound key, supporting lookups by the first column or the first two columns.
+ */
+public interface Tuple3Table<
+    C1 extends Comparable<? super C1>,
+    C2 extends Comparable<? super C2>,
+    C3 extends Comparable<? super C3>,
+    K extends Tuple3<C1, C2, C3, K> & Comparable<? super K>,
+    R extends Row<K, ?>
+    > extends Table<K, R> {
+
+  /**
+   * Gets the lowest possible key with the given first column, used to seek directly to the first match in
+   * {@link Table#getSortedMap()}.  For {@link DefaultTuple3} keys, this is the key with <code>null</code> second and
+   * third columns.
+   *
+   * @return  the lower bound or <code>null</code> when no bound may be created, in which case prefix lookups derive the
+   *          bound from {@link DefaultTuple3} keys in the sorted map, otherwise scanning from its beginning
+   */
+  default K getPrefixBound(C1 column1) {
+    // By default, derived from the sorted map keys
+    return null;
+  }
+
+  /**
+   * Gets the lowest possible key with the given first two columns, used to seek directly to the first match in
+   * {@link Table#getSortedMap()}.  For {@link DefaultTuple3} keys, this is the key with a <code>null</code> third
+   * column.
+   *
+   * @return  the lower bound or <code>null</code> when no bound may be created, in which case prefix lookups derive the
+   *          bound from {@link DefaultTuple3} keys in the sorted map, otherwise scanning from its beginning
+   */
+  default K getPrefixBound(C1 column1, C2 column2) {
+    // By default, derived from the sorted map keys
+    return null;
+  }
+
+  /**
+   * Gets all rows with the given first key column, sorted by their natural ordering.
+   *
+   * <p>This is an unmodifiable snapshot of the data and will not change over time.
+   * It may be iterated multiple times with the same results.  The contents
+   * are not changed by the transactions of the current user or any other user.</p>
+   *
+   * <p>This default implementation performs a range scan of {@link Table#getSortedMap()}, starting from
+   * {@link Tuple3Table#getPrefixBound(java.lang.Comparable)} and comparing {@link String} columns with
+   * {@link Model#getComparator()}.  The iteration stops at the first key past the prefix, so the sorted map must be
+   * ordered column by column with <code>null</code> before all non-null values and {@link String} columns compared
+   * by {@link Model#getComparator()}, as {@link DefaultTuple3} does.
+   * Implementations that are not fully cached should override this to perform a single query on the first key
+   * column.</p>
+   */
+  default SortedSet<? extends R> getByPrefix(C1 column1) throws SQLException {
+    return Tuples.getByPrefix(getSortedMap(), getPrefixBound(column1), getModel().getComparator(), 1, column1, null);
+  }
+
+  /**
+   * Gets all rows with the given first two key columns, sorted by their natural ordering.
+   *
+   * <p>This is an unmodifiable snapshot of the data and will not change over time.
+   * It may be iterated multiple times with the same results.  The contents
+   * are not changed by the transactions of the current user or any other user.</p>
+   *
+   * <p>This default implementation performs a range scan of {@link Table#getSortedMap()}, starting from
+   * {@link Tuple3Table#getPrefixBound(java.lang.Comparable, java.lang.Comparable)} and comparing {@link String}
+   * columns with {@link Model#getComparator()}.  The iteration stops at the first key past the prefix, so the sorted map must be
+   * ordered column by column with <code>null</code> before all non-null values and {@link String} columns compared
+   * by {@link Model#getComparator()}, as {@link DefaultTuple3} does.
+   * Implementations that are not fully cached should override this to perform a single query on the first two
+   * key columns.</p>
+   */
+  default SortedSet<? extends R> getByPrefix(C1 column1, C2 column2) throws SQLException {
+    return Tuples.getByPrefix(getSortedMap(), getPrefixBound(column1, column2), getModel().getComparator(), 2, column1, column2);
+  }
+}
@@ -0,0 +1,147 @@
+/*
+ * ao-dao-api - Simple data access objects framework API.
+ * Copyright (C) 2026  AO Industries, Inc.
+ *     support@aoindustries.com
+ *     7262 Bull Pen Cir
+ *     Mobile, AL 36695
+ *
+ * This file is part of ao-dao-api.
+ *
+ * ao-dao-api is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * ao-dao-api is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with ao-dao-api.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package com.aoapps.dao;
+
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.Map;
+import java.util.SortedMap;
+import java.util.SortedSet;
+import java.util.TreeSet;
+
+/**
+ * Column comparisons shared by the tuple implementations.
+ */
+final class Tuples {
+
+  /** Make no instances. */
+  private Tuples() {
+    throw new AssertionError();
+  }
+
+  /**
+   * Compares two column values.  A <code>null</code> value is ordered before all non-null values, which allows a
+   * tuple with trailing <code>null</code> columns to be used as the lower bound of a prefix range.
+   *
+   * @param  comparator  the comparator for when both values are {@link String}, or <code>null</code> for natural
+   *                     ordering
+   */
+  @SuppressWarnings("unchecked")
+  static int compareColumn(Comparator<? super String> comparator, Comparable<?> value1, Comparable<?> value2) {
+    if (value1 == value2) {
+      return 0;
+    }
+    if (value1 == null) {
+      return -1;
+    }
+    if (value2 == null) {
+      return 1;
+    }
+    if (comparator != null && value1 instanceof String && value2 instanceof String) {
+      return comparator.compare((String) value1, (String) value2);
+    }
+    return ((Comparable<Object>) value1).compareTo(value2);
+  }
+
+  /**
+   * Gets the hash code of a single column, matching {@link java.util.Arrays#hashCode(java.lang.Object[])} when
+   * accumulated as <code>31 * hash + hashColumn(value)</code> starting from <code>1</code>.
+   */
+  static int hashColumn(Object value) {
+    return value == null ? 0 : value.hashCode();
+  }
+
+  /**
+   * Gets the rows whose keys start with the given column values, in key order.
+   * Since tuples are ordered by their columns in order, the matching keys are contiguous in the sorted map, and
+   * iteration stops at the first key past the prefix.
+   *
+   * <p>The map must be ordered column by column consistently with
+   * {@link Tuples#compareColumn(java.util.Comparator, java.lang.Comparable, java.lang.Comparable)} using the given
+   * comparator, otherwise matches may be missed.</p>
+   *
+   * @param  bound         the lowest possible key having the prefix, used to seek directly to the first match, or
+   *                       <code>null</code> to derive the bound from {@link DefaultTuple2} or {@link DefaultTuple3}
+   *                       keys, otherwise scanning from the beginning of the map
+   * @param  prefixLength  the number of leading columns to match, either <code>1</code> or <code>2</code>
+   */
+  static <K extends Tuple<?>, R> SortedSet<R> getByPrefix(
+      SortedMap<K, ? extends R> sortedMap,
+      K bound,
+      Comparator<? super String> comparator,
+      int prefixLength,
+      Comparable<?> column1,
+      Comparable<?> column2
+  ) {
+    if (bound == null) {
+      bound = getDefaultPrefixBound(sortedMap, prefixLength, column1, column2);
+    }
+    SortedMap<K, ? extends R> range = bound == null ? sortedMap : sortedMap.tailMap(bound);
+    SortedSet<R> results = null;
+    for (Map.Entry<K, ? extends R> entry : range.entrySet()) {
+      K key = entry.getKey();
+      int diff = compareColumn(comparator, key.getColumn(0), column1);
+      if (diff == 0 && prefixLength > 1) {
+        diff = compareColumn(comparator, key.getColumn(1), column2);
+      }
+      if (diff > 0) {
+        break;
+      }
+      if (diff == 0) {
+        if (results == null) {
+          results = new TreeSet<>();
+        }
+        results.add(entry.getValue());
+      }
+    }
+    return results == null ? Collections.emptySortedSet() : Collections.unmodifiableSortedSet(results);
+  }
+
+  /**
+   * Gets the lowest possible key having the prefix when the map contains {@link DefaultTuple2} or
+   * {@link DefaultTuple3} keys, built from the first key so it shares the comparator of the map keys.
+   *
+   * @return  the lower bound or <code>null</code> when the map is empty or its keys are of another type
+   */
+  @SuppressWarnings({"unchecked", "rawtypes"})
+  private static <K extends Tuple<?>> K getDefaultPrefixBound(
+      SortedMap<K, ?> sortedMap,
+      int prefixLength,
+      Comparable<?> column1,
+      Comparable<?> column2
+  ) {
+    if (sortedMap.isEmpty()) {
+      return null;
+    }
+    K first = sortedMap.firstKey();
+    if (first instanceof DefaultTuple2 && prefixLength == 1) {
+      return (K) ((DefaultTuple2) first).getPrefixBound(column1);
+    }
+    if (first instanceof DefaultTuple3) {
+      DefaultTuple3 tuple = (DefaultTuple3) first;
+      return (K) (prefixLength == 1 ? tuple.getPrefixBound(column1) : tuple.getPrefixBound(column1, column2));
+    }
+    return null;
+  }
+}
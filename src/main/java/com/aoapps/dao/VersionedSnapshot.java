@@ -0,0 +1,138 @@
+/*
+ * ao-dao-api - Simple data access objects framework API.
+ * Copyright (C) 2026  AO Industries, Inc.
+ *     support@aoindustries.com
+ *     7262 Bull Pen Cir
+ *     Mobile, AL 36695
+ *
+ * This file is part of ao-dao-api.
+ *
+ * ao-dao-api is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * ao-dao-api is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with ao-dao-api.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package com.aoapps.dao;
+
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.UnaryOperator;
+
+/**
+ * Holds the current version of an immutable snapshot, such as the rows of a table.
+ *
+ * <p>Reading the current version is a single volatile load.  Updates publish a new version atomically, without
+ * locking, and readers never block writers.  A reader that needs repeatable reads across several operations, such
+ * as for the duration of a request, holds on to the {@link Version} it started with instead of calling
+ * {@link VersionedSnapshot#get()} again.</p>
+ *
+ * <p>Snapshots must not be modified once published.</p>
+ */
+public final class VersionedSnapshot<S> {
+
+  /**
+   * One published version of a snapshot.
+   */
+  public static final class Version<S> {
+
+    private final long number;
+    private final S snapshot;
+
+    private Version(long number, S snapshot) {
+      this.number = number;
+      this.snapshot = snapshot;
+    }
+
+    /**
+     * Gets the version number, which increases by one with each version published.
+     */
+    public long getNumber() {
+      return number;
+    }
+
+    /**
+     * Gets the snapshot of this version.
+     */
+    public S getSnapshot() {
+      return snapshot;
+    }
+
+    @Override
+    public String toString() {
+      return "v" + number;
+    }
+  }
+
+  private final AtomicReference<Version<S>> current;
+
+  /**
+   * Creates a new holder, with the initial snapshot as version zero.
+   */
+  public VersionedSnapshot(S initial) {
+    this.current = new AtomicReference<>(new Version<>(0, initial));
+  }
+
+  /**
+   * Gets the current version.
+   */
+  public Version<S> getVersion() {
+    return current.get();
+  }
+
+  /**
+   * Gets the snapshot of the current version.
+   */
+  public S get() {
+    return current.get().snapshot;
+  }
+
+  /**
+   * Publishes a new snapshot, replacing whatever version is current.
+   *
+   * @return  the version published
+   */
+  public Version<S> publish(S snapshot) {
+    while (true) {
+      Version<S> expected = current.get();
+      Version<S> next = new Version<>(expected.number + 1, snapshot);
+      if (current.compareAndSet(expected, next)) {
+        return next;
+      }
+    }
+  }
+
+  /**
+   * Publishes a new snapshot only if the given version is still current.
+   *
+   * @return  the version published or <code>null</code> when another version was published first
+   */
+  public Version<S> publish(Version<S> expected, S snapshot) {
+    Version<S> next = new Version<>(expected.number + 1, snapshot);
+    return current.compareAndSet(expected, next) ? next : null;
+  }
+
+  /**
+   * Publishes a new snapshot derived from the current snapshot.
+   * When another version is published concurrently, the updater is called again with the new current snapshot,
+   * so it must be free of side effects.
+   *
+   * @return  the version published
+   */
+  public Version<S> update(UnaryOperator<S> updater) {
+    while (true) {
+      Version<S> expected = current.get();
+      Version<S> next = publish(expected, updater.apply(expected.snapshot));
+      if (next != null) {
+        return next;
+      }
+    }
+  }
+}
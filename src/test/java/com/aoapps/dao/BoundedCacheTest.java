@@ -0,0 +1,189 @@
+/*
+ * ao-dao-api - Simple data access objects framework API.
+ * Copyright (C) 2026  AO Industries, Inc.
+ *     support@aoindustries.com
+ *     7262 Bull Pen Cir
+ *     Mobile, AL 36695
+ *
+ * This file is part of ao-dao-api.
+ *
+ * ao-dao-api is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * ao-dao-api is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with ao-dao-api.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package com.aoapps.dao;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import org.junit.Test;
+
+/**
+ * Tests {@link BoundedCache} and {@link CacheBudget}.
+ */
+public class BoundedCacheTest {
+
+  @Test
+  public void testMaxWeight() {
+    TableMetrics metrics = new TableMetrics("test");
+    BoundedCache<Integer, String> cache = new BoundedCache<>(100, String::length, null, metrics);
+    for (int i = 0; i < 1000; i++) {
+      cache.put(i, "0123456789");
+      assertTrue(cache.getWeight() <= 100);
+    }
+    assertEquals(10, cache.size());
+    assertEquals(100, cache.getWeight());
+    assertEquals(990, metrics.getSnapshot().getCacheEvictions());
+  }
+
+  @Test
+  public void testTooHeavy() {
+    BoundedCache<Integer, String> cache = new BoundedCache<>(5, String::length, null, null);
+    cache.put(1, "abc");
+    cache.put(1, "abcdef");
+    // Replaced but not cached
+    assertNull(cache.get(1));
+    assertEquals(0, cache.getWeight());
+  }
+
+  @Test
+  public void testRemoveAndClear() {
+    TableMetrics metrics = new TableMetrics("test");
+    BoundedCache<Integer, String> cache = new BoundedCache<>(100, String::length, null, metrics);
+    cache.put(1, "a");
+    cache.put(2, "bb");
+    assertEquals("a", cache.get(1));
+    assertEquals("a", cache.remove(1));
+    assertNull(cache.get(1));
+    assertEquals(2, cache.getWeight());
+    cache.clear();
+    assertEquals(0, cache.size());
+    assertEquals(0, cache.getWeight());
+    TableMetrics.Snapshot snapshot = metrics.getSnapshot();
+    assertEquals(1, snapshot.getCacheHits());
+    assertEquals(1, snapshot.getCacheMisses());
+  }
+
+  private static void getOrPut(BoundedCache<Integer, Integer> cache, int key) {
+    if (cache.get(key) == null) {
+      cache.put(key, key);
+    }
+  }
+
+  private static BoundedCache<Integer, Integer> warmUp() {
+    BoundedCache<Integer, Integer> cache = new BoundedCache<>(100, BoundedCache.Weigher.unit(), null, null);
+    for (int round = 0; round < 5; round++) {
+      for (int hot = 0; hot < 50; hot++) {
+        getOrPut(cache, hot);
+      }
+    }
+    return cache;
+  }
+
+  private static int retained(BoundedCache<Integer, Integer> cache) {
+    int retained = 0;
+    for (int hot = 0; hot < 50; hot++) {
+      if (cache.get(hot) != null) {
+        retained++;
+      }
+    }
+    return retained;
+  }
+
+  /**
+   * A scan of keys read once must not flush the frequently used keys of a cache that is still filling.
+   */
+  @Test
+  public void testScanAfterWarmUp() {
+    BoundedCache<Integer, Integer> cache = warmUp();
+    for (int cold = 1000; cold < 1200; cold++) {
+      getOrPut(cache, cold);
+    }
+    assertEquals(50, retained(cache));
+  }
+
+  /**
+   * A long scan must not flush the keys still being used frequently during the scan.
+   */
+  @Test
+  public void testLongScan() {
+    BoundedCache<Integer, Integer> cache = warmUp();
+    int hot = 0;
+    for (int cold = 1000; cold < 11000; cold++) {
+      getOrPut(cache, cold);
+      if ((cold & 1) == 0) {
+        getOrPut(cache, hot++ % 50);
+      }
+    }
+    int retained = retained(cache);
+    assertTrue("Hot keys retained: " + retained, retained >= 45);
+  }
+
+  @Test
+  public void testBudget() {
+    CacheBudget budget = new CacheBudget(100);
+    BoundedCache<Integer, String> small = new BoundedCache<>(1000, String::length, budget, null);
+    BoundedCache<Integer, String> large = new BoundedCache<>(1000, String::length, budget, null);
+    for (int i = 0; i < 5; i++) {
+      small.put(i, "0123456789");
+    }
+    for (int i = 0; i < 20; i++) {
+      large.put(i, "0123456789");
+      assertTrue(budget.getWeight() <= 100);
+    }
+    // Evicted from the heaviest cache
+    assertEquals(50, small.getWeight());
+    assertEquals(50, large.getWeight());
+    assertEquals(100, budget.getWeight());
+    // Leaving the group
+    large.clear();
+    assertEquals(50, budget.getWeight());
+  }
+
+  @Test
+  public void testConcurrentReads() throws Exception {
+    BoundedCache<Integer, Integer> cache = new BoundedCache<>(1000, BoundedCache.Weigher.unit(), null, null);
+    for (int i = 0; i < 1000; i++) {
+      cache.put(i, i);
+    }
+    ExecutorService executor = Executors.newFixedThreadPool(4);
+    try {
+      List<Future<Integer>> futures = new ArrayList<>();
+      for (int t = 0; t < 4; t++) {
+        futures.add(executor.submit(() -> {
+          int found = 0;
+          for (int i = 0; i < 100_000; i++) {
+            if (cache.get(i % 1000) != null) {
+              found++;
+            }
+          }
+          return found;
+        }));
+      }
+      for (Future<Integer> future : futures) {
+        assertEquals(100_000, (int) future.get());
+      }
+    } finally {
+      executor.shutdown();
+    }
+    // Reads are applied on the next write, which still finds all entries
+    cache.put(0, 0);
+    assertEquals(1000, cache.size());
+  }
+}
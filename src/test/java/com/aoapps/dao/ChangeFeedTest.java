@@ -0,0 +1,130 @@
+/*
+ * ao-dao-api - Simple data access objects framework API.
+ * Copyright (C) 2026  AO Industries, Inc.
+ *     support@aoindustries.com
+ *     7262 Bull Pen Cir
+ *     Mobile, AL 36695
+ *
+ * This file is part of ao-dao-api.
+ *
+ * ao-dao-api is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * ao-dao-api is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with ao-dao-api.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package com.aoapps.dao;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.junit.Test;
+
+public class ChangeFeedTest {
+
+  private static void assertChange(ChangeFeed.Change<Integer> change, long version, ChangeFeed.Type type, Integer key) {
+    assertEquals(version, change.getVersion());
+    assertEquals(type, change.getType());
+    assertEquals(key, change.getKey());
+  }
+
+  @Test
+  public void testPoll() {
+    ChangeFeed<Integer> feed = new ChangeFeed<>(4);
+    assertEquals(0, feed.getVersion());
+    assertTrue(feed.poll(0, 10).isEmpty());
+    assertEquals(1, feed.publish(ChangeFeed.Type.INSERT, 1));
+    assertEquals(2, feed.publish(ChangeFeed.Type.UPDATE, 1));
+    assertEquals(3, feed.publish(ChangeFeed.Type.REMOVE, 1));
+    List<ChangeFeed.Change<Integer>> changes = feed.poll(1, 10);
+    assertEquals(2, changes.size());
+    assertChange(changes.get(0), 2, ChangeFeed.Type.UPDATE, 1);
+    assertChange(changes.get(1), 3, ChangeFeed.Type.REMOVE, 1);
+    changes = feed.poll(0, 2);
+    assertEquals(2, changes.size());
+    assertChange(changes.get(1), 2, ChangeFeed.Type.UPDATE, 1);
+    assertTrue(feed.poll(3, 10).isEmpty());
+  }
+
+  /**
+   * Publishes past the initial buffer size and past capacity, so the ring both grows and wraps around.
+   */
+  @Test
+  public void testWrapAround() {
+    ChangeFeed<Integer> feed = new ChangeFeed<>(20);
+    for (int i = 1; i <= 53; i++) {
+      assertEquals(i, feed.publish(ChangeFeed.Type.INSERT, i));
+      // The most recent changes are always in order, whatever the position of the head
+      long from = Math.max(0, i - feed.getCapacity());
+      List<ChangeFeed.Change<Integer>> changes = feed.poll(from, Integer.MAX_VALUE);
+      assertEquals(i - from, changes.size());
+      for (int j = 0; j < changes.size(); j++) {
+        long version = from + 1 + j;
+        assertChange(changes.get(j), version, ChangeFeed.Type.INSERT, (int) version);
+      }
+    }
+  }
+
+  @Test
+  public void testResetOnLag() {
+    ChangeFeed<Integer> feed = new ChangeFeed<>(4);
+    for (int i = 1; i <= 10; i++) {
+      feed.publish(ChangeFeed.Type.INSERT, i);
+    }
+    // Versions 1 through 6 have been discarded
+    List<ChangeFeed.Change<Integer>> changes = feed.poll(2, 10);
+    assertEquals(5, changes.size());
+    assertChange(changes.get(0), 6, ChangeFeed.Type.RESET, null);
+    for (int i = 1; i < 5; i++) {
+      assertChange(changes.get(i), 6 + i, ChangeFeed.Type.INSERT, 6 + i);
+    }
+    // Resuming after the reset continues without another
+    changes = feed.poll(changes.get(0).getVersion(), 2);
+    assertEquals(2, changes.size());
+    assertChange(changes.get(0), 7, ChangeFeed.Type.INSERT, 7);
+    // A consumer exactly at the oldest kept change has lost nothing
+    changes = feed.poll(6, 10);
+    assertEquals(4, changes.size());
+    assertChange(changes.get(0), 7, ChangeFeed.Type.INSERT, 7);
+  }
+
+  @Test
+  public void testReset() {
+    ChangeFeed<Integer> feed = new ChangeFeed<>(4);
+    feed.publish(ChangeFeed.Type.INSERT, 1);
+    assertEquals(2, feed.reset());
+    List<ChangeFeed.Change<Integer>> changes = feed.poll(1, 10);
+    assertEquals(1, changes.size());
+    assertChange(changes.get(0), 2, ChangeFeed.Type.RESET, null);
+    assertNull(changes.get(0).getKey());
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void testResetWithKey() {
+    new ChangeFeed<Integer>(4).publish(ChangeFeed.Type.RESET, 1);
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void testPollAfterVersion() {
+    new ChangeFeed<Integer>(4).poll(1, 10);
+  }
+
+  @Test
+  public void testPollTimeout() throws InterruptedException {
+    ChangeFeed<Integer> feed = new ChangeFeed<>(4);
+    assertTrue(feed.poll(0, 10, 10, TimeUnit.MILLISECONDS).isEmpty());
+    feed.publish(ChangeFeed.Type.INSERT, 1);
+    assertEquals(1, feed.poll(0, 10, 1, TimeUnit.SECONDS).size());
+  }
+}
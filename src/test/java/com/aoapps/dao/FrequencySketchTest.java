@@ -0,0 +1,56 @@
+/*
+ * ao-dao-api - Simple data access objects framework API.
+ * Copyright (C) 2026  AO Industries, Inc.
+ *     support@aoindustries.com
+ *     7262 Bull Pen Cir
+ *     Mobile, AL 36695
+ *
+ * This file is part of ao-dao-api.
+ *
+ * ao-dao-api is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * ao-dao-api is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with ao-dao-api.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package com.aoapps.dao;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import org.junit.Test;
+
+/**
+ * Tests {@link FrequencySketch}.
+ */
+public class FrequencySketchTest {
+
+  @Test
+  public void testCountsKeptOnResize() {
+    FrequencySketch sketch = new FrequencySketch();
+    for (int i = 0; i < 5; i++) {
+      sketch.increment("hot");
+    }
+    int before = sketch.frequency("hot");
+    assertTrue(before >= 5);
+    sketch.ensureCapacity(100_000);
+    assertEquals(before, sketch.frequency("hot"));
+  }
+
+  @Test
+  public void testSaturates() {
+    FrequencySketch sketch = new FrequencySketch();
+    for (int i = 0; i < 100; i++) {
+      sketch.increment("key");
+    }
+    assertEquals(15, sketch.frequency("key"));
+  }
+}
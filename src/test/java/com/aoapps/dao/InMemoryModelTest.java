@@ -0,0 +1,211 @@
+/*
+ * ao-dao-api - Simple data access objects framework API.
+ * Copyright (C) 2026  AO Industries, Inc.
+ *     support@aoindustries.com
+ *     7262 Bull Pen Cir
+ *     Mobile, AL 36695
+ *
+ * This file is part of ao-dao-api.
+ *
+ * ao-dao-api is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * ao-dao-api is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with ao-dao-api.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package com.aoapps.dao;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import com.aoapps.dbc.NoRowException;
+import java.sql.SQLException;
+import java.util.Arrays;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * Tests the transactions and snapshots of {@link InMemoryModel}.
+ */
+public class InMemoryModelTest {
+
+  private ModelMetrics metrics;
+  private InMemoryModel model;
+  private InMemoryTable<Integer, TestRow> table;
+  private InMemoryTable<Integer, TestRow> other;
+  private ExecutorService executor;
+
+  @Before
+  public void setUp() throws SQLException {
+    metrics = new ModelMetrics("test");
+    model = new InMemoryModel("test", String::compareTo, metrics);
+    table = new InMemoryTable<>(model, "table");
+    other = new InMemoryTable<>(model, "other");
+    table.insert(new TestRow(table, 1, "one"));
+    table.insert(new TestRow(table, 2, "two"));
+    executor = Executors.newSingleThreadExecutor();
+  }
+
+  @After
+  public void tearDown() {
+    executor.shutdownNow();
+    model.clearAllCaches();
+  }
+
+  /**
+   * Gets the rows of the table as seen by another thread.
+   */
+  private Set<TestRow> rowsFromOtherThread() throws Exception {
+    Future<Set<TestRow>> future = executor.submit(() -> table.getRows());
+    return future.get();
+  }
+
+  private static Set<TestRow> rows(TestRow ... rows) {
+    return new TreeSet<>(Arrays.asList(rows));
+  }
+
+  @Test
+  public void testCommit() throws Exception {
+    Set<TestRow> before = table.getRows();
+    model.transactionRun(Exception.class, () -> {
+      table.update(new TestRow(table, 1, "uno"));
+      table.delete(2);
+      table.insert(new TestRow(table, 3, "tres"));
+      other.insert(new TestRow(other, 1, "other"));
+      // Visible to this thread
+      assertEquals("uno", table.get(1).getValue());
+      assertFalse(table.getMap().containsKey(2));
+      assertEquals(rows(new TestRow(table, 1, "uno"), new TestRow(table, 3, "tres")), table.getRows());
+      // Not visible to others
+      assertEquals(before, rowsFromOtherThread());
+    });
+    Set<TestRow> expected = rows(new TestRow(table, 1, "uno"), new TestRow(table, 3, "tres"));
+    assertEquals(expected, table.getRows());
+    assertEquals(expected, rowsFromOtherThread());
+    assertEquals(1, other.getSize());
+    // Snapshots already handed out are not modified
+    assertEquals(rows(new TestRow(table, 1, "one"), new TestRow(table, 2, "two")), before);
+  }
+
+  @Test
+  public void testRollback() throws SQLException {
+    Map<Integer, TestRow> before = table.getMap();
+    try {
+      model.transactionRun(() -> {
+        table.delete(1);
+        table.put(new TestRow(table, 5, "five"));
+        other.insert(new TestRow(other, 1, "other"));
+        assertEquals(2, table.getSize());
+        // Duplicate key
+        table.insert(new TestRow(table, 2, "dup"));
+      });
+      fail("SQLException expected");
+    } catch (SQLException e) {
+      assertEquals("23505", e.getSQLState());
+    }
+    assertEquals(before, table.getMap());
+    assertEquals(0, other.getSize());
+  }
+
+  @Test
+  public void testNestedJoins() throws SQLException {
+    try {
+      model.transactionRun(() -> {
+        table.delete(1);
+        model.transactionRun(() -> {
+          // Sees the changes of the outer transaction
+          assertFalse(table.getMap().containsKey(1));
+          table.insert(new TestRow(table, 3, "three"));
+        });
+        assertEquals(2, table.getSize());
+        throw new SQLException("Rollback");
+      });
+      fail("SQLException expected");
+    } catch (SQLException e) {
+      assertEquals("Rollback", e.getMessage());
+    }
+    // The nested transaction was part of the outer, so is also rolled back
+    assertEquals(rows(new TestRow(table, 1, "one"), new TestRow(table, 2, "two")), table.getRows());
+  }
+
+  @Test
+  public void testPinIsolation() throws Exception {
+    model.pinSnapshots();
+    Set<TestRow> pinned = table.getRows();
+    executor.submit(() -> {
+      table.put(new TestRow(table, 3, "three"));
+      other.put(new TestRow(other, 1, "other"));
+      return null;
+    }).get();
+    // Both tables are still as pinned
+    assertSame(pinned, table.getRows());
+    assertEquals(0, other.getSize());
+    // Transactions see the latest committed version
+    model.transactionRun(() -> assertEquals(3, table.getSize()));
+    model.unpinSnapshots();
+    assertEquals(3, table.getSize());
+    assertEquals(1, other.getSize());
+  }
+
+  @Test
+  public void testReadCall() throws Exception {
+    int size = model.readCall(Exception.class, () -> {
+      executor.submit(() -> {
+        table.put(new TestRow(table, 3, "three"));
+        return null;
+      }).get();
+      return table.getSize();
+    });
+    assertEquals(2, size);
+    assertEquals(3, table.getSize());
+  }
+
+  @Test
+  public void testStagedReadsShareCommitted() throws SQLException {
+    InMemoryTable.Snapshot<Integer, TestRow> committed = table.getSnapshot();
+    model.transactionRun(() -> {
+      // Reading before any modification uses the committed snapshot
+      other.put(new TestRow(other, 1, "other"));
+      assertSame(committed, table.getSnapshot());
+      table.put(new TestRow(table, 3, "three"));
+      InMemoryTable.Snapshot<Integer, TestRow> staged = table.getSnapshot();
+      // Reused until the next modification
+      assertSame(staged, table.getSnapshot());
+      table.put(new TestRow(table, 4, "four"));
+      assertTrue(staged != table.getSnapshot());
+      assertFalse(staged.getMap().containsKey(4));
+    });
+  }
+
+  @Test
+  public void testGetMetrics() throws SQLException {
+    table.get(1);
+    try {
+      table.get(99);
+      fail("NoRowException expected");
+    } catch (NoRowException e) {
+      // Expected
+    }
+    TableMetrics.Snapshot snapshot = metrics.getTable("table").getSnapshot();
+    assertEquals(1, snapshot.getCacheHits());
+    assertEquals(1, snapshot.getCacheMisses());
+  }
+}
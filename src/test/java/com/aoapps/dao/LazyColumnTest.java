@@ -0,0 +1,139 @@
+/*
+ * ao-dao-api - Simple data access objects framework API.
+ * Copyright (C) 2026  AO Industries, Inc.
+ *     support@aoindustries.com
+ *     7262 Bull Pen Cir
+ *     Mobile, AL 36695
+ *
+ * This file is part of ao-dao-api.
+ *
+ * ao-dao-api is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * ao-dao-api is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with ao-dao-api.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package com.aoapps.dao;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import org.junit.Test;
+
+/**
+ * Tests {@link LazyColumn}.
+ */
+public class LazyColumnTest {
+
+  private final List<List<Integer>> batches = new ArrayList<>();
+
+  /**
+   * Loads the value of each key as its string form, with no value for negative keys.
+   */
+  private Map<Integer, String> load(Set<Integer> keys) {
+    batches.add(new ArrayList<>(keys));
+    Map<Integer, String> values = new HashMap<>();
+    for (Integer key : keys) {
+      if (key >= 0) {
+        values.put(key, "v" + key);
+      }
+    }
+    return values;
+  }
+
+  @Test
+  public void testBatches() throws SQLException {
+    LazyColumn<Integer, String> column = new LazyColumn<>(this::load, 3);
+    for (int i = 1; i <= 7; i++) {
+      column.add(i);
+    }
+    assertFalse(column.isLoaded(1));
+    assertEquals("v2", column.get(2));
+    // The requested key first, then the pending keys in the order added
+    assertEquals(Arrays.asList(Arrays.asList(2, 1, 3)), batches);
+    assertTrue(column.isLoaded(1));
+    assertFalse(column.isLoaded(4));
+    assertEquals("v1", column.get(1));
+    assertEquals("v3", column.get(3));
+    assertEquals(1, batches.size());
+    assertEquals("v7", column.get(7));
+    assertEquals(Arrays.asList(7, 4, 5), batches.get(1));
+    assertEquals("v6", column.get(6));
+    assertEquals(Arrays.asList(6), batches.get(2));
+    assertEquals(3, batches.size());
+  }
+
+  @Test
+  public void testNotAdded() throws SQLException {
+    LazyColumn<Integer, String> column = new LazyColumn<>(this::load, 10);
+    column.add(1);
+    assertEquals("v9", column.get(9));
+    assertEquals(Arrays.asList(Arrays.asList(9, 1)), batches);
+    assertTrue(column.isLoaded(9));
+    // Adding a loaded key does not load it again
+    column.add(9);
+    assertEquals("v9", column.get(9));
+    assertEquals(1, batches.size());
+  }
+
+  @Test
+  public void testNullLoaded() throws SQLException {
+    LazyColumn<Integer, String> column = new LazyColumn<>(this::load, 10);
+    column.add(-1);
+    assertNull(column.get(-1));
+    assertTrue(column.isLoaded(-1));
+    assertNull(column.get(-1));
+    assertEquals(1, batches.size());
+  }
+
+  @Test
+  public void testLoaderFailure() throws SQLException {
+    boolean[] fail = {true};
+    LazyColumn<Integer, String> column = new LazyColumn<>(
+        keys -> {
+          if (fail[0]) {
+            throw new SQLException("Failed");
+          }
+          return load(keys);
+        },
+        10
+    );
+    column.add(1);
+    column.add(2);
+    try {
+      column.get(1);
+      fail("SQLException expected");
+    } catch (SQLException e) {
+      // Expected
+    }
+    assertFalse(column.isLoaded(1));
+    assertFalse(column.isLoaded(2));
+    // Still pending, so loaded together on retry
+    fail[0] = false;
+    assertEquals("v2", column.get(2));
+    assertEquals(Arrays.asList(Arrays.asList(2, 1)), batches);
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void testBatchSize() {
+    new LazyColumn<Integer, String>(this::load, 0);
+  }
+}
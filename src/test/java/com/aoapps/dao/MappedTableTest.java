@@ -0,0 +1,316 @@
+/*
+ * ao-dao-api - Simple data access objects framework API.
+ * Copyright (C) 2026  AO Industries, Inc.
+ *     support@aoindustries.com
+ *     7262 Bull Pen Cir
+ *     Mobile, AL 36695
+ *
+ * This file is part of ao-dao-api.
+ *
+ * ao-dao-api is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * ao-dao-api is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with ao-dao-api.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package com.aoapps.dao;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import com.aoapps.dbc.NoRowException;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.SortedSet;
+import java.util.TreeSet;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Stream;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * Tests {@link MappedTable}.
+ */
+public class MappedTableTest {
+
+  /**
+   * A row ordered by its value instead of its key.
+   */
+  private static final class ValueRow implements Row<Integer, ValueRow>, Comparable<ValueRow> {
+
+    private static final RowCodec<Integer, ValueRow> CODEC = new RowCodec<Integer, ValueRow>() {
+      @Override
+      public void encode(ValueRow row, ByteBuffer out) {
+        out.putInt(row.id);
+        out.put(row.value.getBytes(StandardCharsets.UTF_8));
+      }
+
+      @Override
+      public ValueRow decode(ByteBuffer in) {
+        int id = in.getInt();
+        byte[] bytes = new byte[in.remaining()];
+        in.get(bytes);
+        return new ValueRow(id, new String(bytes, StandardCharsets.UTF_8));
+      }
+    };
+
+    private final int id;
+    private final String value;
+
+    private ValueRow(int id, String value) {
+      this.id = id;
+      this.value = value;
+    }
+
+    @Override
+    public Table<Integer, ValueRow> getTable() {
+      return null;
+    }
+
+    @Override
+    public Integer getKey() {
+      return id;
+    }
+
+    @Override
+    public boolean equals(Object obj) {
+      if (!(obj instanceof ValueRow)) {
+        return false;
+      }
+      ValueRow other = (ValueRow) obj;
+      return id == other.id && value.equals(other.value);
+    }
+
+    @Override
+    public int hashCode() {
+      return id;
+    }
+
+    @Override
+    public int compareTo(ValueRow o) {
+      return value.compareTo(o.value);
+    }
+
+    @Override
+    public String toString() {
+      return id + "=" + value;
+    }
+  }
+
+  private Path dir;
+  private Path file;
+  private InMemoryModel model;
+  private final AtomicInteger loads = new AtomicInteger();
+  private List<TestRow> sourceRows;
+  private long version;
+
+  @Before
+  public void setUp() throws IOException {
+    dir = Files.createTempDirectory("MappedTableTest");
+    file = dir.resolve("test.snapshot");
+    model = new InMemoryModel("test");
+  }
+
+  @After
+  public void tearDown() throws IOException {
+    try (Stream<Path> files = Files.list(dir)) {
+      for (Path p : (Iterable<Path>) files::iterator) {
+        Files.delete(p);
+      }
+    }
+    Files.delete(dir);
+  }
+
+  private MappedTable<Integer, TestRow> newTable(boolean versioned) {
+    return new MappedTable<>(
+        model,
+        "table",
+        file,
+        TestRow.codec(null),
+        () -> {
+          loads.incrementAndGet();
+          return sourceRows;
+        },
+        versioned ? () -> version : null
+    );
+  }
+
+  private static List<TestRow> rows(String value, int count) {
+    List<TestRow> rows = new ArrayList<>(count);
+    for (int i = 0; i < count; i++) {
+      rows.add(new TestRow(null, i, value + i));
+    }
+    return rows;
+  }
+
+  @Test
+  public void testLookups() throws SQLException {
+    sourceRows = rows("a", 100);
+    MappedTable<Integer, TestRow> table = newTable(false);
+    assertEquals(100, table.getSize());
+    assertEquals("a42", table.get(42).getValue());
+    try {
+      table.get(100);
+      fail("NoRowException expected");
+    } catch (NoRowException e) {
+      // Expected
+    }
+    assertEquals(Arrays.asList(10, 11, 12), new ArrayList<>(table.getSortedMap().subMap(10, 13).keySet()));
+    assertEquals(sourceRows, new ArrayList<>(table.getRows()));
+    assertEquals(
+        Arrays.asList(sourceRows.get(30), sourceRows.get(3)),
+        new ArrayList<>(table.getOrderedRows(Arrays.asList(30, 3)))
+    );
+    assertEquals(
+        Arrays.asList(sourceRows.get(3), sourceRows.get(30)),
+        new ArrayList<>(table.getRows(Arrays.asList(30, 3)))
+    );
+    assertTrue(table.contains(new TestRow(null, 5, "a5")));
+    assertFalse(table.contains(new TestRow(null, 5, "b5")));
+    assertEquals(1, loads.get());
+  }
+
+  @Test
+  public void testNotNaturalOrder() throws SQLException {
+    // Values descend as keys ascend
+    List<ValueRow> keyOrder = new ArrayList<>();
+    for (int i = 0; i < 20; i++) {
+      keyOrder.add(new ValueRow(i, "v" + (char) ('z' - i)));
+    }
+    List<ValueRow> valueOrder = new ArrayList<>(keyOrder);
+    Collections.reverse(valueOrder);
+    MappedTable<Integer, ValueRow> table = new MappedTable<>(model, "table", file, ValueRow.CODEC, () -> keyOrder);
+    assertFalse(table.getUnsortedRows() instanceof SortedSet);
+    assertEquals(keyOrder, new ArrayList<>(table.getUnsortedRows()));
+    assertEquals(valueOrder, new ArrayList<>(new TreeSet<>(table.getUnsortedRows())));
+    SortedSet<ValueRow> rows = table.getRows();
+    assertEquals(valueOrder, new ArrayList<>(rows));
+    assertEquals(keyOrder.get(19), rows.first());
+    assertEquals(keyOrder.get(0), rows.last());
+    assertTrue(rows.contains(keyOrder.get(7)));
+    assertEquals(
+        Arrays.asList(keyOrder.get(12), keyOrder.get(11)),
+        new ArrayList<>(rows.subSet(keyOrder.get(12), keyOrder.get(10)))
+    );
+    assertNull(rows.comparator());
+  }
+
+  @Test
+  public void testNaturalOrderView() throws SQLException {
+    sourceRows = rows("a", 10);
+    MappedTable<Integer, TestRow> table = newTable(false);
+    assertTrue(table.getUnsortedRows() instanceof SortedSet);
+    SortedSet<TestRow> rows = table.getRows();
+    assertEquals(sourceRows.subList(2, 5), new ArrayList<>(rows.subSet(sourceRows.get(2), sourceRows.get(5))));
+    assertEquals(sourceRows.get(9), rows.last());
+  }
+
+  @Test
+  public void testGetMetrics() throws SQLException {
+    ModelMetrics metrics = new ModelMetrics("test");
+    model = new InMemoryModel("test", Comparator.naturalOrder(), metrics);
+    sourceRows = rows("a", 10);
+    MappedTable<Integer, TestRow> table = newTable(false);
+    table.get(3);
+    try {
+      table.get(10);
+      fail("NoRowException expected");
+    } catch (NoRowException e) {
+      // Expected
+    }
+    TableMetrics.Snapshot snapshot = metrics.getTable("table").getSnapshot();
+    assertEquals(1, snapshot.getCacheHits());
+    // One miss for the load and one for the missing row
+    assertEquals(2, snapshot.getCacheMisses());
+    assertEquals(2, snapshot.getGet().getCount());
+  }
+
+  @Test
+  public void testRewrittenWithoutVersion() throws IOException, SQLException {
+    SnapshotFile.write(file, rows("stale", 10), TestRow.codec(null));
+    sourceRows = rows("fresh", 5);
+    MappedTable<Integer, TestRow> table = newTable(false);
+    assertEquals(5, table.getSize());
+    assertEquals("fresh1", table.get(1).getValue());
+    assertEquals(1, loads.get());
+  }
+
+  @Test
+  public void testReusedAtSameVersion() throws IOException, SQLException {
+    version = 7;
+    SnapshotFile.write(file, rows("saved", 10), TestRow.codec(null), 7);
+    sourceRows = rows("fresh", 5);
+    MappedTable<Integer, TestRow> table = newTable(true);
+    assertEquals(10, table.getSize());
+    assertEquals("saved1", table.get(1).getValue());
+    assertEquals(0, loads.get());
+    // Updates always load from the source
+    table.tableUpdated();
+    assertEquals(5, table.getSize());
+    assertEquals(1, loads.get());
+  }
+
+  @Test
+  public void testRewrittenAtOtherVersion() throws IOException, SQLException {
+    version = 8;
+    SnapshotFile.write(file, rows("stale", 10), TestRow.codec(null), 7);
+    sourceRows = rows("fresh", 5);
+    MappedTable<Integer, TestRow> table = newTable(true);
+    assertEquals(5, table.getSize());
+    assertEquals(1, loads.get());
+    assertEquals(Long.valueOf(8), SnapshotFile.getSourceVersion(SnapshotFile.map(file)));
+    // The file is now reused by a new table
+    loads.set(0);
+    sourceRows = Collections.emptyList();
+    assertEquals(5, newTable(true).getSize());
+    assertEquals(0, loads.get());
+  }
+
+  @Test
+  public void testRecursiveSource() throws SQLException {
+    List<MappedTable<Integer, TestRow>> holder = new ArrayList<>(1);
+    MappedTable<Integer, TestRow> table = new MappedTable<>(
+        model,
+        "table",
+        file,
+        TestRow.codec(null),
+        () -> {
+          if (loads.incrementAndGet() == 1) {
+            holder.get(0).getSize();
+          }
+          return rows("a", 3);
+        }
+    );
+    holder.add(table);
+    try {
+      table.getSize();
+      fail("SQLException expected");
+    } catch (SQLException e) {
+      // Expected
+    }
+    // A failed load is retried
+    assertEquals(3, table.getSize());
+    assertEquals(2, loads.get());
+  }
+}
@@ -0,0 +1,110 @@
+/*
+ * ao-dao-api - Simple data access objects framework API.
+ * Copyright (C) 2026  AO Industries, Inc.
+ *     support@aoindustries.com
+ *     7262 Bull Pen Cir
+ *     Mobile, AL 36695
+ *
+ * This file is part of ao-dao-api.
+ *
+ * ao-dao-api is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * ao-dao-api is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with ao-dao-api.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package com.aoapps.dao;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.fail;
+
+import java.sql.SQLException;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import org.junit.Test;
+
+/**
+ * Tests {@link ModelMetrics}.
+ */
+public class ModelMetricsTest {
+
+  private static class TestReport implements Report {
+    @Override
+    public String getName() {
+      return "test";
+    }
+
+    @Override
+    public String getTitle() {
+      return "Test";
+    }
+
+    @Override
+    public String getTitle(Map<String, ? extends Object> parameterValues) {
+      return getTitle();
+    }
+
+    @Override
+    public String getDescription() {
+      return "Test";
+    }
+
+    @Override
+    public String getDescription(Map<String, ? extends Object> parameterValues) {
+      return getDescription();
+    }
+
+    @Override
+    public Iterable<? extends Parameter> getParameters() {
+      return Collections.emptyList();
+    }
+
+    @Override
+    public Result executeReport(Map<String, ? extends Object> parameterValues) throws SQLException {
+      if (parameterValues.containsKey("fail")) {
+        throw new SQLException("Failed");
+      }
+      return new Result() {
+        @Override
+        public List<? extends Column> getColumns() {
+          return Collections.emptyList();
+        }
+
+        @Override
+        public Iterable<? extends Iterable<?>> getTableData() {
+          return Collections.emptyList();
+        }
+      };
+    }
+  }
+
+  @Test
+  public void testExecuteReport() throws SQLException {
+    ModelMetrics metrics = new ModelMetrics("test");
+    Model model = new InMemoryModel("test", String::compareTo, metrics);
+    Report report = new TestReport();
+    model.executeReport(report, Collections.emptyMap());
+    try {
+      model.executeReport(report, Collections.singletonMap("fail", true));
+      fail("SQLException expected");
+    } catch (SQLException e) {
+      // Expected
+    }
+    assertEquals(2, metrics.getSnapshot().getReports().get("test").getCount());
+  }
+
+  @Test
+  public void testUninstrumented() throws SQLException {
+    Model model = new InMemoryModel("test");
+    model.executeReport(new TestReport(), Collections.emptyMap());
+  }
+}
@@ -0,0 +1,171 @@
+/*
+ * ao-dao-api - Simple data access objects framework API.
+ * Copyright (C) 2026  AO Industries, Inc.
+ *     support@aoindustries.com
+ *     7262 Bull Pen Cir
+ *     Mobile, AL 36695
+ *
+ * This file is part of ao-dao-api.
+ *
+ * ao-dao-api is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * ao-dao-api is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with ao-dao-api.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package com.aoapps.dao;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.nio.BufferOverflowException;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import org.junit.Test;
+
+/**
+ * Tests {@link OffHeapRows}.
+ */
+public class OffHeapRowsTest {
+
+  private static String repeat(char ch, int count) {
+    char[] chars = new char[count];
+    Arrays.fill(chars, ch);
+    return new String(chars);
+  }
+
+  @Test
+  public void testLookups() {
+    List<TestRow> rows = new ArrayList<>();
+    for (int i = 0; i < 100; i++) {
+      rows.add(new TestRow(null, i * 7, "v" + i));
+    }
+    OffHeapRows<Integer, TestRow> offHeap = new OffHeapRows<>(TestRow.codec(null), rows);
+    assertEquals(100, offHeap.size());
+    for (TestRow row : rows) {
+      assertEquals(row, offHeap.get(row.getKey()));
+    }
+    assertNull(offHeap.get(1));
+    assertNull(offHeap.get(-7));
+    assertEquals(rows, new ArrayList<>(offHeap.getUnsortedRows()));
+    assertEquals(new ArrayList<>(offHeap.getMap().values()), rows);
+    assertTrue(offHeap.getUnsortedRows().contains(new TestRow(null, 14, "v2")));
+    assertFalse(offHeap.getUnsortedRows().contains(new TestRow(null, 14, "other")));
+    assertFalse(offHeap.getMap().containsKey("14"));
+    assertNull(offHeap.getMap().get(null));
+  }
+
+  /**
+   * Keys that are all multiples of the table size share a home slot, so every lookup probes past the others.
+   */
+  @Test
+  public void testProbing() {
+    List<TestRow> rows = new ArrayList<>();
+    for (int i = 0; i < 10; i++) {
+      rows.add(new TestRow(null, i * 32, "v" + i));
+    }
+    OffHeapRows<Integer, TestRow> offHeap = new OffHeapRows<>(TestRow.codec(null), rows);
+    for (TestRow row : rows) {
+      assertEquals(row, offHeap.get(row.getKey()));
+    }
+    // Misses that probe the full chain before reaching an empty slot
+    assertNull(offHeap.get(10 * 32));
+    assertNull(offHeap.get(-32));
+  }
+
+  @Test
+  public void testEmpty() {
+    OffHeapRows<Integer, TestRow> offHeap = new OffHeapRows<>(TestRow.codec(null), Collections.emptyList());
+    assertEquals(0, offHeap.size());
+    assertNull(offHeap.get(0));
+    assertTrue(offHeap.getUnsortedRows().isEmpty());
+    assertEquals(0, offHeap.getAllocatedSize());
+  }
+
+  @Test
+  public void testDuplicateKey() {
+    try {
+      new OffHeapRows<>(
+          TestRow.codec(null),
+          Arrays.asList(new TestRow(null, 1, "a"), new TestRow(null, 33, "b"), new TestRow(null, 1, "c"))
+      );
+      fail("IllegalArgumentException expected");
+    } catch (IllegalArgumentException e) {
+      assertTrue(e.getMessage(), e.getMessage().contains("Duplicate key: 1"));
+    }
+  }
+
+  /**
+   * Rows that do not fit the space remaining in a chunk start a new chunk, and a row larger than the chunk size is
+   * given a chunk of its own.
+   */
+  @Test
+  public void testChunks() {
+    // Each encoding is 4 bytes for the id plus the value
+    List<TestRow> rows = Arrays.asList(
+        new TestRow(null, 1, repeat('a', 20)),
+        new TestRow(null, 2, repeat('b', 20)),
+        new TestRow(null, 3, repeat('c', 100)),
+        new TestRow(null, 4, repeat('d', 10))
+    );
+    OffHeapRows<Integer, TestRow> offHeap = new OffHeapRows<>(TestRow.codec(null), rows, 32);
+    assertEquals(24 + 24 + 104 + 14, offHeap.getByteSize());
+    assertEquals(32 + 32 + 104 + 32, offHeap.getAllocatedSize());
+    for (TestRow row : rows) {
+      assertEquals(row, offHeap.get(row.getKey()));
+    }
+    assertEquals(rows, new ArrayList<>(offHeap.getUnsortedRows()));
+  }
+
+  /**
+   * A row larger than the initial encoding buffer is encoded after growing the buffer.
+   */
+  @Test
+  public void testLargeRow() {
+    TestRow large = new TestRow(null, 1, repeat('x', 100_000));
+    List<TestRow> rows = Arrays.asList(new TestRow(null, 0, "small"), large, new TestRow(null, 2, "small"));
+    OffHeapRows<Integer, TestRow> offHeap = new OffHeapRows<>(TestRow.codec(null), rows);
+    assertEquals(large, offHeap.get(1));
+    assertEquals("small", offHeap.get(2).getValue());
+  }
+
+  @Test
+  public void testRowTooLarge() {
+    RowCodec<Integer, TestRow> overflowing = new RowCodec<Integer, TestRow>() {
+      @Override
+      public void encode(TestRow row, ByteBuffer out) {
+        throw new BufferOverflowException();
+      }
+
+      @Override
+      public TestRow decode(ByteBuffer in) {
+        throw new AssertionError();
+      }
+    };
+    try {
+      new OffHeapRows<>(overflowing, Collections.singletonList(new TestRow(null, 1, "a")));
+      fail("IllegalArgumentException expected");
+    } catch (IllegalArgumentException e) {
+      assertTrue(e.getMessage(), e.getMessage().contains(Integer.toString(SnapshotFile.MAX_ROW_SIZE)));
+    }
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void testChunkSize() {
+    new OffHeapRows<>(TestRow.codec(null), Collections.emptyList(), 0);
+  }
+}
@@ -0,0 +1,115 @@
+/*
+ * ao-dao-api - Simple data access objects framework API.
+ * Copyright (C) 2026  AO Industries, Inc.
+ *     support@aoindustries.com
+ *     7262 Bull Pen Cir
+ *     Mobile, AL 36695
+ *
+ * This file is part of ao-dao-api.
+ *
+ * ao-dao-api is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * ao-dao-api is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with ao-dao-api.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package com.aoapps.dao;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
+import org.junit.Test;
+
+/**
+ * Tests {@link PersistentHashMap}.
+ */
+public class PersistentHashMapTest {
+
+  /**
+   * A key with a chosen hash code, to force collisions.
+   */
+  private static final class Key {
+    private final int id;
+    private final int hash;
+
+    private Key(int id, int hash) {
+      this.id = id;
+      this.hash = hash;
+    }
+
+    @Override
+    public boolean equals(Object obj) {
+      return obj instanceof Key && ((Key) obj).id == id;
+    }
+
+    @Override
+    public int hashCode() {
+      return hash;
+    }
+  }
+
+  private static void testRandom(int keys, int hashes) {
+    Random random = new Random(keys * 31L + hashes);
+    Map<Key, Integer> expected = new HashMap<>();
+    PersistentHashMap<Key, Integer> map = PersistentHashMap.empty();
+    for (int i = 0; i < keys * 20; i++) {
+      int id = random.nextInt(keys);
+      Key key = new Key(id, hashes == 0 ? id * 0x9E3779B9 : id % hashes);
+      PersistentHashMap<Key, Integer> before = map;
+      Map<Key, Integer> beforeExpected = i % 100 == 0 ? new HashMap<>(expected) : null;
+      if (random.nextInt(3) == 0) {
+        expected.remove(key);
+        map = map.minus(key);
+      } else {
+        Integer value = random.nextInt(4);
+        expected.put(key, value);
+        map = map.plus(key, value);
+      }
+      assertEquals(expected.size(), map.size());
+      assertEquals(expected.get(key), map.get(key));
+      if (beforeExpected != null) {
+        // Earlier versions are not affected
+        assertEquals(beforeExpected, before);
+      }
+    }
+    assertEquals(expected, map);
+    assertEquals(map, expected);
+    assertEquals(expected.hashCode(), map.hashCode());
+  }
+
+  @Test
+  public void testDistinctHashes() {
+    testRandom(5000, 0);
+  }
+
+  @Test
+  public void testCollisions() {
+    testRandom(500, 7);
+  }
+
+  @Test
+  public void testAllCollide() {
+    testRandom(50, 1);
+  }
+
+  @Test
+  public void testUnchanged() {
+    PersistentHashMap<String, String> map = PersistentHashMap.<String, String>empty().plus("a", "b");
+    assertSame(map, map.plus("a", "b"));
+    assertSame(map, map.minus("c"));
+    assertNull(map.get(null));
+    assertSame(PersistentHashMap.empty(), map.minus("a"));
+  }
+}
@@ -0,0 +1,130 @@
+/*
+ * ao-dao-api - Simple data access objects framework API.
+ * Copyright (C) 2026  AO Industries, Inc.
+ *     support@aoindustries.com
+ *     7262 Bull Pen Cir
+ *     Mobile, AL 36695
+ *
+ * This file is part of ao-dao-api.
+ *
+ * ao-dao-api is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * ao-dao-api is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with ao-dao-api.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package com.aoapps.dao;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.sql.SQLException;
+import java.util.Collections;
+import java.util.List;
+import org.junit.Test;
+
+/**
+ * Tests {@link Removable} and {@link ReasonsSQLException}.
+ */
+public class RemovableTest {
+
+  private static final Reason REASON = new Reason() {
+    @Override
+    public String toString() {
+      return "In use";
+    }
+
+    @Override
+    public Reason merge(Reason other) {
+      return null;
+    }
+
+    @Override
+    public int compareTo(Reason o) {
+      return toString().compareTo(o.toString());
+    }
+  };
+
+  /**
+   * Has the given reasons before removal, then throws the given exception from remove.
+   */
+  private static final class TestRemovable implements Removable {
+
+    private final List<? extends Reason> reasons;
+    private final ReasonsSQLException removeException;
+    private int removed;
+
+    private TestRemovable(List<? extends Reason> reasons, ReasonsSQLException removeException) {
+      this.reasons = reasons;
+      this.removeException = removeException;
+    }
+
+    @Override
+    public List<? extends Reason> getCannotRemoveReasons() {
+      return reasons;
+    }
+
+    @Override
+    public void remove() throws ReasonsSQLException {
+      if (removeException != null) {
+        throw removeException;
+      }
+      removed++;
+    }
+  }
+
+  @Test
+  public void testRemoved() throws SQLException {
+    TestRemovable removable = new TestRemovable(Collections.emptyList(), null);
+    assertTrue(removable.tryRemove().isEmpty());
+    assertEquals(1, removable.removed);
+  }
+
+  @Test
+  public void testCannotRemove() throws SQLException {
+    TestRemovable removable = new TestRemovable(Collections.singletonList(REASON), null);
+    assertEquals(Collections.singletonList(REASON), removable.tryRemove());
+    assertEquals(0, removable.removed);
+  }
+
+  @Test
+  public void testReasonsChanged() throws SQLException {
+    TestRemovable removable = new TestRemovable(
+        Collections.emptyList(),
+        ReasonsSQLException.stackless("Cannot remove", "23000", Collections.singletonList(REASON))
+    );
+    assertEquals(Collections.singletonList(REASON), removable.tryRemove());
+  }
+
+  @Test
+  public void testNoReasonsRethrown() throws SQLException {
+    ReasonsSQLException exception = ReasonsSQLException.stackless("Cannot remove", "23000", Collections.emptyList());
+    try {
+      new TestRemovable(Collections.emptyList(), exception).tryRemove();
+      fail("ReasonsSQLException expected");
+    } catch (ReasonsSQLException e) {
+      assertSame(exception, e);
+    }
+  }
+
+  @Test
+  public void testStackless() {
+    ReasonsSQLException stackless = ReasonsSQLException.stackless("Cannot remove", "23000", Collections.emptyList());
+    assertTrue(stackless.isStackless());
+    assertEquals(0, stackless.getStackTrace().length);
+    ReasonsSQLException normal = new ReasonsSQLException("Cannot remove", "23000", Collections.emptyList());
+    assertFalse(normal.isStackless());
+    assertTrue(normal.getStackTrace().length > 0);
+  }
+}
@@ -0,0 +1,239 @@
+/*
+ * ao-dao-api - Simple data access objects framework API.
+ * Copyright (C) 2026  AO Industries, Inc.
+ *     support@aoindustries.com
+ *     7262 Bull Pen Cir
+ *     Mobile, AL 36695
+ *
+ * This file is part of ao-dao-api.
+ *
+ * ao-dao-api is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * ao-dao-api is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with ao-dao-api.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package com.aoapps.dao;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.IOException;
+import java.nio.channels.Channels;
+import java.nio.channels.Pipe;
+import java.nio.charset.StandardCharsets;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import org.junit.Test;
+
+/**
+ * Tests {@link ReportExporter}.
+ */
+public class ReportExporterTest {
+
+  private static Report.Column column(String name, Report.Alignment alignment) {
+    return new Report.Column() {
+      @Override
+      public String getName() {
+        return name;
+      }
+
+      @Override
+      public String getLabel() {
+        return name;
+      }
+
+      @Override
+      public Report.Alignment getAlignment() {
+        return alignment;
+      }
+    };
+  }
+
+  private static Report.Result result(List<? extends Report.Column> columns, List<? extends List<?>> rows) {
+    return new Report.Result() {
+      @Override
+      public List<? extends Report.Column> getColumns() {
+        return columns;
+      }
+
+      @Override
+      public Iterable<? extends Iterable<?>> getTableData() {
+        return rows;
+      }
+    };
+  }
+
+  private static final Report.Result RESULT = result(
+      Arrays.asList(column("id", Report.Alignment.right), column("name", null), column("x", Report.Alignment.left)),
+      Arrays.asList(
+          Arrays.asList(1, "plain", true),
+          Arrays.asList(Long.MAX_VALUE, "a,\"b\"\r\né😀", null),
+          Arrays.asList(Long.MIN_VALUE, null, 1.5)
+      )
+  );
+
+  private static String export(ReportExporter.Format format, int bufferSize) throws SQLException, IOException {
+    ByteArrayOutputStream out = new ByteArrayOutputStream();
+    assertEquals(3, new ReportExporter(format, bufferSize, 2).export(RESULT, out));
+    return new String(out.toByteArray(), StandardCharsets.UTF_8);
+  }
+
+  @Test
+  public void testCsv() throws SQLException, IOException {
+    String expected = "id,name,x\r\n"
+        + "1,plain,true\r\n"
+        + "9223372036854775807,\"a,\"\"b\"\"\r\né😀\",\r\n"
+        + "-9223372036854775808,,1.5\r\n";
+    assertEquals(expected, export(ReportExporter.Format.CSV, ReportExporter.DEFAULT_BUFFER_SIZE));
+  }
+
+  @Test
+  public void testJsonLines() throws SQLException, IOException {
+    String expected = "{\"id\":1,\"name\":\"plain\",\"x\":true}\n"
+        + "{\"id\":9223372036854775807,\"name\":\"a,\\\"b\\\"\\u000d\\u000aé😀\",\"x\":null}\n"
+        + "{\"id\":-9223372036854775808,\"name\":null,\"x\":1.5}\n";
+    assertEquals(expected, export(ReportExporter.Format.JSON_LINES, ReportExporter.DEFAULT_BUFFER_SIZE));
+  }
+
+  @Test
+  public void testSmallestBuffer() throws SQLException, IOException {
+    for (ReportExporter.Format format : ReportExporter.Format.values()) {
+      assertEquals(
+          format.name(),
+          export(format, ReportExporter.DEFAULT_BUFFER_SIZE),
+          export(format, 20)
+      );
+    }
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void testBufferTooSmall() {
+    new ReportExporter(ReportExporter.Format.CSV, 19, 1);
+  }
+
+  private static long readVarLong(DataInputStream in) throws IOException {
+    long value = 0;
+    int shift = 0;
+    byte b;
+    do {
+      b = in.readByte();
+      value |= (long) (b & 0x7F) << shift;
+      shift += 7;
+    } while ((b & 0x80) != 0);
+    return value;
+  }
+
+  private static String readString(DataInputStream in) throws IOException {
+    byte[] bytes = new byte[(int) readVarLong(in)];
+    in.readFully(bytes);
+    return new String(bytes, StandardCharsets.UTF_8);
+  }
+
+  private static Object readValue(DataInputStream in) throws IOException {
+    byte tag = in.readByte();
+    switch (tag) {
+      case 0x00:
+        return null;
+      case 0x01:
+        long zigzag = readVarLong(in);
+        return (zigzag >>> 1) ^ -(zigzag & 1);
+      case 0x02:
+        return in.readDouble();
+      case 0x03:
+        return readString(in);
+      case 0x04:
+        return true;
+      case 0x05:
+        return false;
+      default:
+        throw new AssertionError("Unexpected tag: " + tag);
+    }
+  }
+
+  @Test
+  public void testColumnar() throws SQLException, IOException {
+    ByteArrayOutputStream bout = new ByteArrayOutputStream();
+    new ReportExporter(ReportExporter.Format.COLUMNAR, ReportExporter.DEFAULT_BUFFER_SIZE, 2).export(RESULT, bout);
+    DataInputStream in = new DataInputStream(new ByteArrayInputStream(bout.toByteArray()));
+    byte[] magic = new byte[4];
+    in.readFully(magic);
+    assertArrayEquals("AODR".getBytes(StandardCharsets.US_ASCII), magic);
+    assertEquals(1, in.readByte());
+    assertEquals(3, readVarLong(in));
+    assertEquals("id", readString(in));
+    assertEquals(Report.Alignment.right.ordinal(), in.readByte());
+    assertEquals("name", readString(in));
+    assertEquals(-1, in.readByte());
+    assertEquals("x", readString(in));
+    assertEquals(Report.Alignment.left.ordinal(), in.readByte());
+    // Batches of two rows, stored column by column
+    List<List<Object>> rows = new ArrayList<>();
+    long batchRows;
+    while ((batchRows = readVarLong(in)) != 0) {
+      Object[][] batch = new Object[(int) batchRows][3];
+      for (int col = 0; col < 3; col++) {
+        for (int row = 0; row < batchRows; row++) {
+          batch[row][col] = readValue(in);
+        }
+      }
+      for (Object[] row : batch) {
+        rows.add(Arrays.asList(row));
+      }
+    }
+    assertEquals(-1, in.read());
+    assertEquals(
+        Arrays.asList(
+            Arrays.asList(1L, "plain", true),
+            Arrays.asList(Long.MAX_VALUE, "a,\"b\"\r\né😀", null),
+            Arrays.asList(Long.MIN_VALUE, null, 1.5)
+        ),
+        rows
+    );
+  }
+
+  @Test
+  public void testChannel() throws SQLException, IOException {
+    ByteArrayOutputStream out = new ByteArrayOutputStream();
+    new ReportExporter(ReportExporter.Format.CSV).export(RESULT, Channels.newChannel(out));
+    assertEquals(
+        export(ReportExporter.Format.CSV, ReportExporter.DEFAULT_BUFFER_SIZE),
+        new String(out.toByteArray(), StandardCharsets.UTF_8)
+    );
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void testNonBlockingChannel() throws SQLException, IOException {
+    Pipe pipe = Pipe.open();
+    try {
+      pipe.sink().configureBlocking(false);
+      new ReportExporter(ReportExporter.Format.CSV).export(RESULT, pipe.sink());
+    } finally {
+      pipe.sink().close();
+      pipe.source().close();
+    }
+  }
+
+  @Test(expected = SQLException.class)
+  public void testWrongColumnCount() throws SQLException, IOException {
+    Report.Result bad = result(
+        Arrays.asList(column("a", null), column("b", null)),
+        Arrays.asList(Arrays.asList(1))
+    );
+    new ReportExporter(ReportExporter.Format.JSON_LINES).export(bad, new ByteArrayOutputStream());
+  }
+
+}
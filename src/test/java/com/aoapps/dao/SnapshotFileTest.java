@@ -0,0 +1,151 @@
+/*
+ * ao-dao-api - Simple data access objects framework API.
+ * Copyright (C) 2026  AO Industries, Inc.
+ *     support@aoindustries.com
+ *     7262 Bull Pen Cir
+ *     Mobile, AL 36695
+ *
+ * This file is part of ao-dao-api.
+ *
+ * ao-dao-api is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * ao-dao-api is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with ao-dao-api.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package com.aoapps.dao;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.io.IOException;
+import java.nio.BufferOverflowException;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.stream.Stream;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * Tests {@link SnapshotFile}.
+ */
+public class SnapshotFileTest {
+
+  private Path dir;
+  private Path file;
+
+  @Before
+  public void setUp() throws IOException {
+    dir = Files.createTempDirectory("SnapshotFileTest");
+    file = dir.resolve("test.snapshot");
+  }
+
+  @After
+  public void tearDown() throws IOException {
+    try (Stream<Path> files = Files.list(dir)) {
+      for (Path p : (Iterable<Path>) files::iterator) {
+        Files.delete(p);
+      }
+    }
+    Files.delete(dir);
+  }
+
+  @Test
+  public void testRoundTrip() throws IOException {
+    RowCodec<Integer, TestRow> codec = TestRow.codec(null);
+    List<TestRow> rows = new ArrayList<>();
+    StringBuilder value = new StringBuilder();
+    for (int i = 999; i >= 0; i--) {
+      // Some rows larger than the initial encoding buffer
+      value.setLength(0);
+      for (int j = 0; j < i % 300; j++) {
+        value.append(j % 2 == 0 ? 'x' : 'é');
+      }
+      rows.add(new TestRow(null, i, value.toString()));
+    }
+    assertEquals(1000, SnapshotFile.write(file, rows, codec));
+    List<TestRow> read = SnapshotFile.read(file, codec);
+    Collections.reverse(rows);
+    assertEquals(rows, read);
+
+    ByteBuffer buffer = SnapshotFile.map(file);
+    assertEquals(1000, SnapshotFile.getRowCount(buffer));
+    assertTrue(SnapshotFile.isNaturalOrder(buffer));
+    assertNull(SnapshotFile.getSourceVersion(buffer));
+    int indexOffset = SnapshotFile.getIndexOffset(buffer);
+    assertEquals(rows.get(500), codec.decode(SnapshotFile.getRow(buffer, indexOffset, 500)));
+    // No temporary files are left behind
+    try (Stream<Path> files = Files.list(dir)) {
+      assertEquals(1, files.count());
+    }
+  }
+
+  @Test
+  public void testEmpty() throws IOException {
+    assertEquals(0, SnapshotFile.write(file, Collections.emptyList(), TestRow.codec(null), 42));
+    assertEquals(0, SnapshotFile.read(file, TestRow.codec(null)).size());
+    assertEquals(Long.valueOf(42), SnapshotFile.getSourceVersion(SnapshotFile.map(file)));
+  }
+
+  @Test
+  public void testDuplicateKey() throws IOException {
+    try {
+      SnapshotFile.write(
+          file,
+          Arrays.asList(new TestRow(null, 1, "a"), new TestRow(null, 1, "b")),
+          TestRow.codec(null)
+      );
+      fail("IllegalArgumentException expected");
+    } catch (IllegalArgumentException e) {
+      // Expected
+    }
+    assertFalse(Files.exists(file));
+  }
+
+  @Test
+  public void testRowTooLarge() throws IOException {
+    RowCodec<Integer, TestRow> overflowing = new RowCodec<Integer, TestRow>() {
+      @Override
+      public void encode(TestRow row, ByteBuffer out) {
+        throw new BufferOverflowException();
+      }
+
+      @Override
+      public TestRow decode(ByteBuffer in) {
+        throw new AssertionError();
+      }
+    };
+    try {
+      SnapshotFile.write(file, Collections.singletonList(new TestRow(null, 1, "a")), overflowing);
+      fail("IOException expected");
+    } catch (IOException e) {
+      assertTrue(e.getMessage(), e.getMessage().contains(Integer.toString(SnapshotFile.MAX_ROW_SIZE)));
+    }
+    assertFalse(Files.exists(file));
+  }
+
+  @Test(expected = IOException.class)
+  public void testCorrupt() throws IOException {
+    SnapshotFile.write(file, Collections.singletonList(new TestRow(null, 1, "a")), TestRow.codec(null));
+    byte[] bytes = Files.readAllBytes(file);
+    Files.write(file, Arrays.copyOf(bytes, bytes.length - 1));
+    SnapshotFile.map(file);
+  }
+}
@@ -0,0 +1,159 @@
+/*
+ * ao-dao-api - Simple data access objects framework API.
+ * Copyright (C) 2026  AO Industries, Inc.
+ *     support@aoindustries.com
+ *     7262 Bull Pen Cir
+ *     Mobile, AL 36695
+ *
+ * This file is part of ao-dao-api.
+ *
+ * ao-dao-api is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * ao-dao-api is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with ao-dao-api.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package com.aoapps.dao;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+import org.junit.Test;
+
+public class StatementCacheTest {
+
+  /**
+   * A prepared statement that tracks only whether it is closed.
+   */
+  private static final class Statement {
+
+    private final String sql;
+    private boolean closed;
+    private int clears;
+    private final PreparedStatement proxy;
+
+    private Statement(String sql) {
+      this.sql = sql;
+      this.proxy = (PreparedStatement) Proxy.newProxyInstance(
+          PreparedStatement.class.getClassLoader(),
+          new Class<?>[]{PreparedStatement.class},
+          (p, method, args) -> {
+            switch (method.getName()) {
+              case "close":
+                closed = true;
+                return null;
+              case "isClosed":
+                return closed;
+              case "clearParameters":
+                clears++;
+                return null;
+              default:
+                throw new UnsupportedOperationException(method.getName());
+            }
+          }
+      );
+    }
+  }
+
+  private final List<Statement> prepared = new ArrayList<>();
+
+  private final Connection conn = (Connection) Proxy.newProxyInstance(
+      Connection.class.getClassLoader(),
+      new Class<?>[]{Connection.class},
+      (p, method, args) -> {
+        if ("prepareStatement".equals(method.getName()) && args.length == 1) {
+          Statement statement = new Statement((String) args[0]);
+          prepared.add(statement);
+          return statement.proxy;
+        }
+        throw new UnsupportedOperationException(method.getName());
+      }
+  );
+
+  @Test
+  public void testReuse() throws SQLException {
+    try (StatementCache cache = new StatementCache(conn, null)) {
+      PreparedStatement pstmt = cache.prepareStatement("table", "SELECT 1");
+      assertSame(pstmt, cache.prepareStatement("table", "SELECT 1"));
+      assertNotSame(pstmt, cache.prepareStatement("other", "SELECT 1"));
+      assertEquals(2, prepared.size());
+      assertEquals(2, cache.size());
+    }
+    for (Statement statement : prepared) {
+      assertTrue(statement.closed);
+    }
+  }
+
+  /**
+   * A nested request for the same SQL on the same table is not given a statement of its own.
+   */
+  @Test
+  public void testNotReentrant() throws SQLException {
+    try (StatementCache cache = new StatementCache(conn, null)) {
+      PreparedStatement outer = cache.prepareStatement("table", "SELECT 1");
+      PreparedStatement nested = cache.prepareStatement("table", "SELECT 1");
+      assertSame(outer, nested);
+      assertEquals(1, prepared.size());
+      assertEquals(1, prepared.get(0).clears);
+      assertFalse(prepared.get(0).closed);
+    }
+  }
+
+  @Test
+  public void testEvictsLeastRecentlyUsed() throws SQLException {
+    try (StatementCache cache = new StatementCache(conn, tableName -> 2, null)) {
+      cache.prepareStatement("table", "SELECT 1");
+      cache.prepareStatement("table", "SELECT 2");
+      cache.prepareStatement("table", "SELECT 1");
+      cache.prepareStatement("table", "SELECT 3");
+      assertEquals(3, prepared.size());
+      assertEquals(2, cache.size());
+      assertFalse(prepared.get(0).closed);
+      assertEquals("SELECT 2", prepared.get(1).sql);
+      assertTrue(prepared.get(1).closed);
+      assertFalse(prepared.get(2).closed);
+    }
+  }
+
+  @Test
+  public void testNonPositiveMaxStatements() throws SQLException {
+    try (StatementCache cache = new StatementCache(conn, tableName -> "table".equals(tableName) ? 1 : 0, null)) {
+      cache.prepareStatement("table", "SELECT 1");
+      try {
+        cache.prepareStatement("other", "SELECT 1");
+        fail("IllegalArgumentException expected");
+      } catch (IllegalArgumentException e) {
+        // Expected
+      }
+      assertEquals(1, prepared.size());
+      assertFalse(prepared.get(0).closed);
+      assertEquals(1, cache.size());
+    }
+    assertTrue(prepared.get(0).closed);
+  }
+
+  @Test(expected = SQLException.class)
+  public void testClosed() throws SQLException {
+    StatementCache cache = new StatementCache(conn, null);
+    cache.close();
+    cache.prepareStatement("table", "SELECT 1");
+  }
+}
@@ -0,0 +1,134 @@
+/*
+ * ao-dao-api - Simple data access objects framework API.
+ * Copyright (C) 2026  AO Industries, Inc.
+ *     support@aoindustries.com
+ *     7262 Bull Pen Cir
+ *     Mobile, AL 36695
+ *
+ * This file is part of ao-dao-api.
+ *
+ * ao-dao-api is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * ao-dao-api is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with ao-dao-api.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package com.aoapps.dao;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import com.aoapps.dbc.NoRowException;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.SortedMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * Tests the default methods of {@link Table}.
+ */
+public class TableTest {
+
+  private AtomicInteger orderedRowsCalls;
+  private InMemoryTable<Integer, TestRow> table;
+
+  @Before
+  public void setUp() throws SQLException {
+    orderedRowsCalls = new AtomicInteger();
+    // Negative keys are the same as their positive counterparts
+    table = new InMemoryTable<Integer, TestRow>(new InMemoryModel("test"), "table") {
+      @Override
+      public Integer canonicalize(Integer key) {
+        return Math.abs(key);
+      }
+
+      @Override
+      public Set<TestRow> getOrderedRows(Iterable<? extends Integer> keys) throws NoRowException {
+        orderedRowsCalls.incrementAndGet();
+        return super.getOrderedRows(keys);
+      }
+    };
+    for (int i = 1; i <= 5; i++) {
+      table.insert(new TestRow(table, i, "row" + i));
+    }
+  }
+
+  @Test
+  public void testPrefetchByCallerKey() throws SQLException {
+    List<Integer> references = Arrays.asList(3, null, -1, 3, 1, -3);
+    Map<Integer, TestRow> rows = table.prefetch(references, key -> key);
+    assertEquals(Arrays.asList(3, -1, 1, -3), new ArrayList<>(rows.keySet()));
+    assertEquals("row1", rows.get(-1).getValue());
+    assertSame(rows.get(1), rows.get(-1));
+    assertSame(rows.get(3), rows.get(-3));
+    assertEquals(1, orderedRowsCalls.get());
+  }
+
+  @Test
+  public void testPrefetchNone() throws SQLException {
+    assertTrue(table.prefetch(Collections.<Integer>singletonList(null), key -> key).isEmpty());
+    assertEquals(0, orderedRowsCalls.get());
+  }
+
+  @Test(expected = NoRowException.class)
+  public void testPrefetchMissing() throws SQLException {
+    table.prefetch(Arrays.asList(1, 6), key -> key);
+  }
+
+  @Test
+  public void testGetProjected() throws SQLException {
+    AtomicInteger projected = new AtomicInteger();
+    SortedMap<Integer, String> values = table.getProjected(row -> {
+      projected.incrementAndGet();
+      return row.getValue();
+    });
+    assertEquals(Arrays.asList(1, 2, 3, 4, 5), new ArrayList<>(values.keySet()));
+    assertEquals("row4", values.get(4));
+    assertEquals(5, projected.get());
+  }
+
+  @Test
+  public void testGetProjectedByCallerKey() throws SQLException {
+    AtomicInteger projected = new AtomicInteger();
+    Map<Integer, String> values = table.getProjected(
+        Arrays.asList(3, -1, 1, 3, -3),
+        row -> {
+          projected.incrementAndGet();
+          return row.getValue() + "!";
+        }
+    );
+    assertEquals(Arrays.asList(3, -1, 1, -3), new ArrayList<>(values.keySet()));
+    assertEquals("row1!", values.get(-1));
+    assertSame(values.get(1), values.get(-1));
+    assertSame(values.get(3), values.get(-3));
+    assertEquals(1, orderedRowsCalls.get());
+    assertEquals(2, projected.get());
+  }
+
+  @Test
+  public void testGetProjectedNone() throws SQLException {
+    assertTrue(table.getProjected(Collections.<Integer>emptyList(), TestRow::getValue).isEmpty());
+    assertEquals(0, orderedRowsCalls.get());
+  }
+
+  @Test(expected = NoRowException.class)
+  public void testGetProjectedMissing() throws SQLException {
+    table.getProjected(Arrays.asList(1, 6), TestRow::getValue);
+  }
+}
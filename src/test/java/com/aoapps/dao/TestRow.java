@@ -0,0 +1,108 @@
+/*
+ * ao-dao-api - Simple data access objects framework API.
+ * Copyright (C) 2026  AO Industries, Inc.
+ *     support@aoindustries.com
+ *     7262 Bull Pen Cir
+ *     Mobile, AL 36695
+ *
+ * This file is part of ao-dao-api.
+ *
+ * ao-dao-api is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * ao-dao-api is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with ao-dao-api.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package com.aoapps.dao;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.Objects;
+
+/**
+ * A row with an integer key and a string value, for tests.
+ */
+final class TestRow implements Row<Integer, TestRow>, Comparable<TestRow> {
+
+  /**
+   * Encodes the id followed by the UTF-8 value.
+   */
+  static RowCodec<Integer, TestRow> codec(Table<Integer, TestRow> table) {
+    return new RowCodec<Integer, TestRow>() {
+      @Override
+      public void encode(TestRow row, ByteBuffer out) {
+        out.putInt(row.id);
+        out.put(row.value.getBytes(StandardCharsets.UTF_8));
+      }
+
+      @Override
+      public TestRow decode(ByteBuffer in) {
+        int id = in.getInt();
+        byte[] bytes = new byte[in.remaining()];
+        in.get(bytes);
+        return new TestRow(table, id, new String(bytes, StandardCharsets.UTF_8));
+      }
+
+      @Override
+      public Integer decodeKey(ByteBuffer in) {
+        return in.getInt();
+      }
+    };
+  }
+
+  private final Table<Integer, TestRow> table;
+  private final int id;
+  private final String value;
+
+  TestRow(Table<Integer, TestRow> table, int id, String value) {
+    this.table = table;
+    this.id = id;
+    this.value = value;
+  }
+
+  @Override
+  public Table<Integer, TestRow> getTable() {
+    return table;
+  }
+
+  @Override
+  public Integer getKey() {
+    return id;
+  }
+
+  String getValue() {
+    return value;
+  }
+
+  @Override
+  public boolean equals(Object obj) {
+    if (!(obj instanceof TestRow)) {
+      return false;
+    }
+    TestRow other = (TestRow) obj;
+    return id == other.id && Objects.equals(value, other.value);
+  }
+
+  @Override
+  public int hashCode() {
+    return id;
+  }
+
+  @Override
+  public int compareTo(TestRow o) {
+    return Integer.compare(id, o.id);
+  }
+
+  @Override
+  public String toString() {
+    return id + "=" + value;
+  }
+}
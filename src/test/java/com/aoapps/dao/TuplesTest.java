@@ -0,0 +1,104 @@
+/*
+ * ao-dao-api - Simple data access objects framework API.
+ * Copyright (C) 2026  AO Industries, Inc.
+ *     support@aoindustries.com
+ *     7262 Bull Pen Cir
+ *     Mobile, AL 36695
+ *
+ * This file is part of ao-dao-api.
+ *
+ * ao-dao-api is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * ao-dao-api is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with ao-dao-api.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package com.aoapps.dao;
+
+import static org.junit.Assert.assertEquals;
+
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import org.junit.Test;
+
+/**
+ * Tests the prefix lookups in {@link Tuples}.
+ */
+public class TuplesTest {
+
+  private static final Comparator<String> COMPARATOR = String.CASE_INSENSITIVE_ORDER;
+
+  /**
+   * A map that fails when scanned from its beginning, so lookups must seek to the prefix bound.
+   */
+  private static class SeekOnlyMap<K, V> extends TreeMap<K, V> {
+    private static final long serialVersionUID = 1L;
+
+    @Override
+    public Set<Map.Entry<K, V>> entrySet() {
+      throw new AssertionError("Full scan");
+    }
+  }
+
+  @Test
+  public void testDefaultTuple2Bound() {
+    SeekOnlyMap<DefaultTuple2<String, Integer>, String> map = new SeekOnlyMap<>();
+    for (String s : new String[]{"a", "B", "c"}) {
+      for (int i = 0; i < 3; i++) {
+        map.put(new DefaultTuple2<>(COMPARATOR, s, i), s + i);
+      }
+    }
+    assertEquals(
+        Arrays.asList("B0", "B1", "B2"),
+        Arrays.asList(Tuples.getByPrefix(map, null, COMPARATOR, 1, "b", null).toArray())
+    );
+    assertEquals(0, Tuples.getByPrefix(map, null, COMPARATOR, 1, "d", null).size());
+  }
+
+  @Test
+  public void testDefaultTuple3Bound() {
+    SeekOnlyMap<DefaultTuple3<String, Integer, Integer>, String> map = new SeekOnlyMap<>();
+    for (String s : new String[]{"a", "B", "c"}) {
+      for (int i = 0; i < 3; i++) {
+        for (int j = 0; j < 2; j++) {
+          map.put(new DefaultTuple3<>(COMPARATOR, s, i, j), s + i + j);
+        }
+      }
+    }
+    assertEquals(
+        Arrays.asList("B00", "B01", "B10", "B11", "B20", "B21"),
+        Arrays.asList(Tuples.getByPrefix(map, null, COMPARATOR, 1, "b", null).toArray())
+    );
+    assertEquals(
+        Arrays.asList("c10", "c11"),
+        Arrays.asList(Tuples.getByPrefix(map, null, COMPARATOR, 2, "C", 1).toArray())
+    );
+  }
+
+  @Test
+  public void testNullColumns() {
+    TreeMap<DefaultTuple2<String, Integer>, String> map = new TreeMap<>();
+    map.put(new DefaultTuple2<>(COMPARATOR, null, 1), "null1");
+    map.put(new DefaultTuple2<>(COMPARATOR, "a", null), "anull");
+    map.put(new DefaultTuple2<>(COMPARATOR, "a", 1), "a1");
+    assertEquals(
+        Arrays.asList("a1", "anull"),
+        Arrays.asList(Tuples.getByPrefix(map, null, COMPARATOR, 1, "a", null).toArray())
+    );
+    assertEquals(
+        Arrays.asList("null1"),
+        Arrays.asList(Tuples.getByPrefix(map, null, COMPARATOR, 1, null, null).toArray())
+    );
+  }
+}